@@ -0,0 +1,159 @@
+/*
+ * Copyright 2017 Arthur Ivanets, arthur.ivanets.work@gmail.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.example.videoplayerusingmedia3;
+
+import android.app.ActivityManager;
+import android.content.Context;
+import android.media.MediaCodecInfo;
+import android.media.MediaCodecList;
+import android.os.Build;
+
+import androidx.annotation.NonNull;
+
+import com.example.videoplayerusingmedia3.util.misc.Preconditions;
+
+/**
+ * An implementation of the {@link PlayerNodePoolFactory} that sizes the {@link PlayerNodePool}s according to the device class:
+ * the application memory class, the low-RAM state of the device and the number of the concurrent video decoder instances
+ * supported by the device (with the number of the available processors as the upper bound).
+ * <br>
+ * The device capabilities are resolved lazily (upon the creation of the first pool), and the resulting policy
+ * can still be overridden per {@link Config} (see {@link Config.Builder#poolPolicy(PlayerNodePoolPolicy)}).
+ * The device-derived size also caps the number of the Players shared by all the pools of the {@link PlayerProvider}
+ * (see {@link ArviPlugins#setMaxPlayerCount(int)}), as the device capacity is shared by all of them.
+ * The pools themselves are created by the {@link DefaultPlayerNodePoolFactory}.
+ */
+public final class AdaptivePlayerNodePoolFactory implements PlayerNodePoolFactory {
+
+    /**
+     * The approximate amount of the application memory (in megabytes) required by a single Player.
+     */
+    public static final int PLAYER_MEMORY_FOOTPRINT_MB = 48;
+
+    /**
+     * The maximum number of the {@link PlayerNode}s held by the pool on the low-RAM devices.
+     */
+    public static final int LOW_RAM_MAX_SIZE = 2;
+
+    private static final String VIDEO_MIME_TYPE = "video/avc";
+
+    private final Context context;
+
+    private final boolean concurrent;
+
+    private volatile DefaultPlayerNodePoolFactory delegate;
+
+    public AdaptivePlayerNodePoolFactory(@NonNull Context context) {
+        this(context, false);
+    }
+
+    /**
+     * @param context    the context used to resolve the device capabilities
+     * @param concurrent whether to create the pools with the thread-safe bookkeeping (to be used when the pools are
+     *                   accessed from the threads other than the main one), or not
+     */
+    public AdaptivePlayerNodePoolFactory(@NonNull Context context, boolean concurrent) {
+        this.context = Preconditions.checkNonNull(context).getApplicationContext();
+        this.concurrent = concurrent;
+    }
+
+    @NonNull
+    @Override
+    public final PlayerNodePool create() {
+        return getDelegate().create();
+    }
+
+    @NonNull
+    @Override
+    public final PlayerNodePool create(@NonNull PlayerNodePoolPolicy policy) {
+        return getDelegate().create(policy);
+    }
+
+    @NonNull
+    @Override
+    public final PlayerNodePoolPolicy getPolicy() {
+        return getDelegate().getPolicy();
+    }
+
+    private DefaultPlayerNodePoolFactory getDelegate() {
+        if (this.delegate == null) {
+            synchronized (this) {
+                if (this.delegate == null) {
+                    final PlayerNodePoolPolicy policy = new PlayerNodePoolPolicy.Builder()
+                        .maxSize(computeMaxSize(this.context))
+                        .build();
+
+                    this.delegate = new DefaultPlayerNodePoolFactory(policy, this.concurrent);
+                }
+            }
+        }
+
+        return this.delegate;
+    }
+
+    private static int computeMaxSize(Context context) {
+        final ActivityManager activityManager = (ActivityManager) context.getSystemService(Context.ACTIVITY_SERVICE);
+        int maxSize = PlayerNodePoolPolicy.DEFAULT_MAX_SIZE;
+
+        if (activityManager != null) {
+            maxSize = Math.min(maxSize, (activityManager.getMemoryClass() / PLAYER_MEMORY_FOOTPRINT_MB));
+
+            if (activityManager.isLowRamDevice()) {
+                maxSize = Math.min(maxSize, LOW_RAM_MAX_SIZE);
+            }
+        }
+
+        final int decoderInstanceLimit = getDecoderInstanceLimit();
+
+        if (decoderInstanceLimit > 0) {
+            maxSize = Math.min(maxSize, decoderInstanceLimit);
+        }
+
+        return Math.max(1, maxSize);
+    }
+
+    /**
+     * Retrieves the maximum number of the concurrent instances supported by the preferred video decoder,
+     * or <strong>0</strong> if unknown.
+     */
+    private static int getDecoderInstanceLimit() {
+        // (the instance limits are only reported starting from Android M)
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.M) {
+            return 0;
+        }
+
+        try {
+            for (MediaCodecInfo codecInfo : new MediaCodecList(MediaCodecList.REGULAR_CODECS).getCodecInfos()) {
+                if (codecInfo.isEncoder()) {
+                    continue;
+                }
+
+                for (String type : codecInfo.getSupportedTypes()) {
+                    // the codecs are listed in the order of preference, so the first matching decoder is the one to be used
+                    if (VIDEO_MIME_TYPE.equalsIgnoreCase(type)) {
+                        return codecInfo.getCapabilitiesForType(type).getMaxSupportedInstances();
+                    }
+                }
+            }
+        } catch (RuntimeException exception) {
+            // the codec enumeration is known to fail on some devices, in which case the limit remains unknown
+        }
+
+        return 0;
+    }
+
+}
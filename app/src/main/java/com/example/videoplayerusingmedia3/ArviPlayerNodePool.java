@@ -18,43 +18,85 @@ package com.example.videoplayerusingmedia3;
 
 import static com.example.videoplayerusingmedia3.util.misc.CollectionUtils.toHashSet;
 
+import android.os.Handler;
+import android.os.Looper;
+
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
 import com.example.videoplayerusingmedia3.player.Player;
+import com.example.videoplayerusingmedia3.player.util.PlayerReleaseQueue;
 import com.example.videoplayerusingmedia3.util.misc.Preconditions;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A concrete implementation of the {@link PlayerNodePool}, used to
  * manage the {@link PlayerNode}s and corresponding {@link Player}s.
+ * <br>
+ * The {@link PlayerNode}s are kept in the access order (least recently accessed first),
+ * which makes both the retrieval of the oldest node and the access time updates constant time operations.
+ * The free (unbound) {@link PlayerNode}s are tracked separately, as they get unbound by the pool,
+ * so that the acquisition of a free node doesn't require a scan of the whole pool.
+ * <br>
+ * The number of the free {@link PlayerNode}s is bounded by the {@link PlayerNodePoolPolicy}: the excess free nodes
+ * are released right away, while the ones that stay free longer than the idle time-to-live are released
+ * by the scheduled eviction (down to the configured warm floor).
  */
 final class ArviPlayerNodePool implements PlayerNodePool {
 
-    private final int maxSize;
+    private final PlayerNodePoolPolicy policy;
 
     private final Set<PlayerNode> playerNodeSet;
+    private final Map<PlayerNode, Long> freePlayerNodeMap;
     private final Map<String, PlayerNode> keyPlayerNodeMap;
 
+    private Handler handler;
+    private final Runnable idleNodeEvictionTask;
+
+    private boolean isIdleNodeEvictionScheduled;
+
     ArviPlayerNodePool(int maxSize) {
-        Preconditions.isTrue("You must specify a valid Pool Max Size.", (maxSize >= 0));
+        this(new PlayerNodePoolPolicy.Builder().maxSize(maxSize).build());
+    }
 
-        this.maxSize = maxSize;
-        this.playerNodeSet = new HashSet<>();
-        this.keyPlayerNodeMap = new HashMap<>();
+    ArviPlayerNodePool(@NonNull PlayerNodePoolPolicy policy) {
+        this(policy, false);
+    }
+
+    /**
+     * @param policy     the pool sizing policy
+     * @param concurrent whether the key lookup ({@link #contains(String)}) should be safe to perform
+     *                   without any external synchronization (see {@link ConcurrentPlayerNodePool})
+     */
+    ArviPlayerNodePool(@NonNull PlayerNodePoolPolicy policy, boolean concurrent) {
+        this.policy = Preconditions.checkNonNull(policy);
+        this.playerNodeSet = Collections.newSetFromMap(new LinkedHashMap<PlayerNode, Boolean>(16, 0.75f, true));
+        this.freePlayerNodeMap = new LinkedHashMap<>();
+        this.keyPlayerNodeMap = (concurrent ? new ConcurrentHashMap<>() : new HashMap<>());
+        this.idleNodeEvictionTask = this::onIdleNodeEviction;
+        this.isIdleNodeEvictionScheduled = false;
     }
 
     @Override
     public final void add(@NonNull PlayerNode playerNode) {
         Preconditions.nonNull(playerNode);
 
-        this.playerNodeSet.add(playerNode);
-        this.keyPlayerNodeMap.put(playerNode.getKey(), playerNode);
+        updateAccessTime(playerNode);
+
+        if (playerNode.isKeySet()) {
+            this.keyPlayerNodeMap.put(playerNode.getKey(), playerNode);
+        } else {
+            markFree(playerNode);
+        }
     }
 
     @Override
@@ -79,6 +121,7 @@ final class ArviPlayerNodePool implements PlayerNodePool {
 
         if (playerNode != null) {
             this.playerNodeSet.remove(playerNode);
+            this.freePlayerNodeMap.remove(playerNode);
             playerNode.removeKey();
         }
 
@@ -93,6 +136,7 @@ final class ArviPlayerNodePool implements PlayerNodePool {
 
         if (playerNode != null) {
             unbind(playerNode, false);
+            markFree(playerNode);
         }
 
         this.keyPlayerNodeMap.remove(key);
@@ -117,24 +161,94 @@ final class ArviPlayerNodePool implements PlayerNodePool {
     public final PlayerNode acquireFree(@NonNull String key) {
         Preconditions.nonEmpty(key);
 
-        final PlayerNode freePlayerNode = getFree();
+        return bindFree(getFree(), key);
+    }
 
-        if (freePlayerNode != null) {
-            freePlayerNode.setKey(key);
-            this.keyPlayerNodeMap.put(key, freePlayerNode);
+    @Nullable
+    @Override
+    public final PlayerNode acquireFree(@NonNull String key, @NonNull Object type) {
+        Preconditions.nonEmpty(key);
+        Preconditions.nonNull(type);
+
+        PlayerNode freePlayerNode = null;
+
+        // the free nodes are mostly of the same type, so the first one is normally a match
+        for (PlayerNode playerNode : this.freePlayerNodeMap.keySet()) {
+            if (playerNode.isOfType(type)) {
+                freePlayerNode = playerNode;
+                break;
+            }
         }
 
-        return freePlayerNode;
+        return bindFree(((freePlayerNode != null) ? updateAccessTime(freePlayerNode) : null), key);
     }
 
     @Override
     public final PlayerNode acquireOldest(@NonNull String key) {
         Preconditions.nonEmpty(key);
 
-        final PlayerNode playerNode = getOldest();
+        return bindOldest(getOldest(), key);
+    }
+
+    @Nullable
+    @Override
+    public final PlayerNode acquireOldest(@NonNull String key, @NonNull Object type) {
+        Preconditions.nonEmpty(key);
+        Preconditions.nonNull(type);
+
+        PlayerNode oldestPlayerNode = null;
+
+        for (PlayerNode playerNode : this.playerNodeSet) {
+            if (playerNode.isOfType(type)) {
+                oldestPlayerNode = playerNode;
+                break;
+            }
+        }
+
+        return bindOldest(((oldestPlayerNode != null) ? updateAccessTime(oldestPlayerNode) : null), key);
+    }
+
+    @NonNull
+    @Override
+    public final PlayerNode handOver(@NonNull PlayerNode playerNode, @NonNull String key) {
+        Preconditions.nonNull(playerNode);
+        Preconditions.nonEmpty(key);
+
+        final Player player = playerNode.getPlayer();
+
+        // detaching the Player from the previous Playable, while keeping it prepared
+        if ((player != null) && player.isInitialized()) {
+            player.postDetachedEvent();
+            player.setAttachmentStateDelegate(null);
+            player.removeAllEventListeners();
+        }
+
+        if (playerNode.isKeySet() && (this.keyPlayerNodeMap.get(playerNode.getKey()) == playerNode)) {
+            this.keyPlayerNodeMap.remove(playerNode.getKey());
+        }
+
+        updateAccessTime(playerNode);
+        markBusy(playerNode);
+        playerNode.setKey(key);
+        this.keyPlayerNodeMap.put(key, playerNode);
+
+        return playerNode;
+    }
+
+    private PlayerNode bindFree(PlayerNode freePlayerNode, String key) {
+        if (freePlayerNode != null) {
+            markBusy(freePlayerNode);
+            freePlayerNode.setKey(key);
+            this.keyPlayerNodeMap.put(key, freePlayerNode);
+        }
+
+        return freePlayerNode;
+    }
 
+    private PlayerNode bindOldest(PlayerNode playerNode, String key) {
         if (playerNode != null) {
             unbind(playerNode, false);
+            markBusy(playerNode);
             playerNode.setKey(key);
             this.keyPlayerNodeMap.put(key, playerNode);
         }
@@ -148,8 +262,13 @@ final class ArviPlayerNodePool implements PlayerNodePool {
 
         unbind(playerNode, true);
 
+        // the node might still be held by the pool (e.g. in case of the free node)
+        this.playerNodeSet.remove(playerNode);
+        this.freePlayerNodeMap.remove(playerNode);
+
         if (playerNode.hasPlayer()) {
-            playerNode.getPlayer().release();
+            // the blocking part of the release is deferred, so that releasing several nodes doesn't stall the main thread
+            PlayerReleaseQueue.getInstance().enqueue(playerNode.getPlayer());
             playerNode.setPlayer(null);
         }
     }
@@ -170,6 +289,39 @@ final class ArviPlayerNodePool implements PlayerNodePool {
         for (PlayerNode playerNode : toHashSet(this.playerNodeSet)) {
             release(playerNode);
         }
+
+        if (this.handler != null) {
+            this.handler.removeCallbacks(this.idleNodeEvictionTask);
+        }
+
+        this.isIdleNodeEvictionScheduled = false;
+    }
+
+    @Override
+    public final void releaseFree(int retainCount) {
+        Preconditions.isTrue("You must specify a valid Retain Count.", (retainCount >= 0));
+
+        while (this.freePlayerNodeMap.size() > retainCount) {
+            release(getOldestFree());
+        }
+    }
+
+    @Override
+    public final void trim() {
+        // releasing the excess free nodes
+        releaseFree(this.policy.maxIdleCount);
+
+        if (!this.policy.isIdleEvictionEnabled()) {
+            return;
+        }
+
+        // releasing the expired free nodes, while keeping the warm floor
+        final long expiryTime = (System.currentTimeMillis() - this.policy.idleTimeToLive);
+
+        while ((this.freePlayerNodeMap.size() > this.policy.minIdleCount)
+            && (this.freePlayerNodeMap.get(getOldestFree()) <= expiryTime)) {
+            release(getOldestFree());
+        }
     }
 
     @Override
@@ -187,24 +339,35 @@ final class ArviPlayerNodePool implements PlayerNodePool {
 
     @Override
     public final PlayerNode getFree() {
-        for (PlayerNode playerNode : this.playerNodeSet) {
-            if (playerNode.hasPlayer()
-                && !playerNode.getPlayer().isAttached()
-                && !playerNode.isKeySet()
-                && !this.keyPlayerNodeMap.containsKey(playerNode.getKey())) {
-                return updateAccessTime(playerNode);
-            }
-        }
-
-        return null;
+        final PlayerNode playerNode = getOldestFree();
+        return ((playerNode != null) ? updateAccessTime(playerNode) : null);
     }
 
     @Override
     public final PlayerNode getOldest() {
-        final PlayerNode playerNode = Collections.min(this.playerNodeSet);
+        final PlayerNode playerNode = peekOldest();
         return ((playerNode != null) ? updateAccessTime(playerNode) : null);
     }
 
+    @NonNull
+    @Override
+    public final List<PlayerNode> getPlayerNodes() {
+        return new ArrayList<>(this.playerNodeSet);
+    }
+
+    @NonNull
+    @Override
+    public final PlayerNodePoolPolicy getPolicy() {
+        return this.policy;
+    }
+
+    @Nullable
+    @Override
+    public final PlayerNode peekOldest() {
+        final Iterator<PlayerNode> iterator = this.playerNodeSet.iterator();
+        return (iterator.hasNext() ? iterator.next() : null);
+    }
+
     @Override
     public final int getPlayerCount() {
         return this.playerNodeSet.size();
@@ -212,7 +375,7 @@ final class ArviPlayerNodePool implements PlayerNodePool {
 
     @Override
     public final boolean isFull() {
-        return (getPlayerCount() == this.maxSize);
+        return (getPlayerCount() >= this.policy.maxSize);
     }
 
     @Override
@@ -223,7 +386,8 @@ final class ArviPlayerNodePool implements PlayerNodePool {
     private void unbind(PlayerNode playerNode, boolean removeFromPool) {
         final Player player = playerNode.getPlayer();
 
-        if (player != null) {
+        // (the Player might still be in the process of the asynchronous initialization)
+        if ((player != null) && player.isInitialized()) {
             player.stop(false);
             player.postDetachedEvent();
             player.setAttachmentStateDelegate(null);
@@ -233,16 +397,80 @@ final class ArviPlayerNodePool implements PlayerNodePool {
         if (playerNode.isKeySet() && removeFromPool) {
             remove(playerNode.getKey());
         } else {
+            // dropping the stale key mapping, as the node is no longer bound to that key
+            if (playerNode.isKeySet() && (this.keyPlayerNodeMap.get(playerNode.getKey()) == playerNode)) {
+                this.keyPlayerNodeMap.remove(playerNode.getKey());
+            }
+
             playerNode.removeKey();
         }
     }
 
+    private void markFree(PlayerNode playerNode) {
+        if (!playerNode.hasPlayer()
+            || !this.playerNodeSet.contains(playerNode)
+            || this.freePlayerNodeMap.containsKey(playerNode)) {
+            return;
+        }
+
+        this.freePlayerNodeMap.put(playerNode, System.currentTimeMillis());
+
+        // the excess free nodes get released right away (the rest - once expired)
+        if (this.freePlayerNodeMap.size() > this.policy.maxIdleCount) {
+            release(getOldestFree());
+        }
+
+        scheduleIdleNodeEviction();
+    }
+
+    private void markBusy(PlayerNode playerNode) {
+        this.freePlayerNodeMap.remove(playerNode);
+    }
+
+    private PlayerNode getOldestFree() {
+        final Iterator<PlayerNode> iterator = this.freePlayerNodeMap.keySet().iterator();
+        return (iterator.hasNext() ? iterator.next() : null);
+    }
+
+    private void scheduleIdleNodeEviction() {
+        if (this.isIdleNodeEvictionScheduled
+            || !this.policy.isIdleEvictionEnabled()
+            || (this.freePlayerNodeMap.size() <= this.policy.minIdleCount)) {
+            return;
+        }
+
+        // the free nodes are ordered by the time they became free, so the oldest one expires first
+        final long oldestFreeTime = this.freePlayerNodeMap.get(getOldestFree());
+        final long delay = Math.max(0L, ((oldestFreeTime + this.policy.idleTimeToLive) - System.currentTimeMillis()));
+
+        this.isIdleNodeEvictionScheduled = true;
+        // (created lazily, so that the pools with the idle eviction disabled don't depend on the main looper)
+        if (this.handler == null) {
+            this.handler = new Handler(Looper.getMainLooper());
+        }
+
+        this.handler.postDelayed(this.idleNodeEvictionTask, delay);
+    }
+
+    private void onIdleNodeEviction() {
+        // the pool instance is the lock used by the ConcurrentPlayerNodePool
+        // (uncontended, and thus cheap, in case of the regular single-threaded usage)
+        synchronized (this) {
+            this.isIdleNodeEvictionScheduled = false;
+
+            trim();
+            scheduleIdleNodeEviction();
+        }
+    }
+
     private PlayerNode updateAccessTime(PlayerNode playerNode) {
+        // (re-)adding the node to the access-ordered set moves it to the "most recently used" end
+        this.playerNodeSet.add(playerNode);
         return playerNode.setLastAccessTime(System.currentTimeMillis());
     }
 
     private PlayerNode updateKey(PlayerNode playerNode, String key) {
-        playerNode.setLastAccessTime(System.currentTimeMillis());
+        updateAccessTime(playerNode);
         playerNode.setKey(key);
 
         return playerNode;
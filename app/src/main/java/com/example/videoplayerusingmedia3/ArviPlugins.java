@@ -18,6 +18,8 @@ package com.example.videoplayerusingmedia3;
 
 import androidx.annotation.NonNull;
 
+import com.example.videoplayerusingmedia3.util.misc.Preconditions;
+
 /**
  * Utility class used for the injection of certain {@link PlayerProvider} components.
  */
@@ -26,6 +28,12 @@ public final class ArviPlugins {
     private static volatile PlayerCreatorFactory playerCreatorFactory = new DefaultPlayerCreatorFactory();
     private static volatile PlayerNodePoolFactory playerNodePoolFactory = new DefaultPlayerNodePoolFactory();
 
+    private static volatile int maxPlayerCount = PlayerNodePoolPolicy.DEFAULT_MAX_SIZE;
+
+    private static volatile boolean isBackgroundSuspensionEnabled = false;
+
+    private static volatile boolean isMediaDeduplicationEnabled = false;
+
     private static volatile boolean isLockedDown = false;
 
     /**
@@ -87,6 +95,76 @@ public final class ArviPlugins {
         return playerNodePoolFactory;
     }
 
+    /**
+     * Sets the maximum number of the live {@link com.example.videoplayerusingmedia3.player.Player}s
+     * shared by all the Player Pools of the {@link PlayerProvider} (regardless of the Player {@link Config}).
+     * (The limit is further capped by the device-derived pool size when the {@link AdaptivePlayerNodePoolFactory} is used)
+     *
+     * @param count the provider-wide player limit
+     */
+    public static void setMaxPlayerCount(int count) {
+        checkLockDownState();
+        Preconditions.isTrue("You must specify a valid Max Player Count.", (count > 0));
+
+        maxPlayerCount = count;
+    }
+
+    /**
+     * Retrieves the maximum number of the live {@link com.example.videoplayerusingmedia3.player.Player}s
+     * shared by all the Player Pools of the {@link PlayerProvider}.
+     *
+     * @return the provider-wide player limit
+     */
+    public static int getMaxPlayerCount() {
+        return maxPlayerCount;
+    }
+
+    /**
+     * Sets whether the {@link PlayerProvider} should release all the {@link com.example.videoplayerusingmedia3.player.Player}s
+     * once the application goes to the background (and lazily restore them once it's back in the foreground).
+     * (Disabled by default)
+     *
+     * @param isEnabled whether the background suspension is enabled
+     */
+    public static void setBackgroundSuspensionEnabled(boolean isEnabled) {
+        checkLockDownState();
+
+        isBackgroundSuspensionEnabled = isEnabled;
+    }
+
+    /**
+     * Retrieves whether the background suspension of the {@link PlayerProvider} is enabled.
+     *
+     * @return whether the background suspension is enabled
+     */
+    public static boolean isBackgroundSuspensionEnabled() {
+        return isBackgroundSuspensionEnabled;
+    }
+
+    /**
+     * Sets whether the {@link PlayerProvider} should hand the already prepared {@link com.example.videoplayerusingmedia3.player.Player}
+     * over between the keys bound to the same media (instead of creating a separate Player for each of the keys).
+     * Applies to the Player acquisitions that specify the media Uri
+     * (see {@link PlayerProvider#getOrInitPlayerAsync(Config, String, android.net.Uri, PlayerProvider.PlayerCallback)}).
+     * (Disabled by default)
+     *
+     * @param isEnabled whether the media deduplication is enabled
+     */
+    public static void setMediaDeduplicationEnabled(boolean isEnabled) {
+        checkLockDownState();
+
+        isMediaDeduplicationEnabled = isEnabled;
+    }
+
+    /**
+     * Retrieves whether the media deduplication of the {@link PlayerProvider} is enabled.
+     *
+     * @return whether the media deduplication is enabled
+     */
+    public static boolean isMediaDeduplicationEnabled() {
+        return isMediaDeduplicationEnabled;
+    }
+
     private static void checkLockDownState() {
         if (isLockedDown) {
             throw new IllegalStateException("The Plugins can not be changed anymore.");
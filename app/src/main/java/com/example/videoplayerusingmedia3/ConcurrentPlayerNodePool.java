@@ -0,0 +1,238 @@
+/*
+ * Copyright 2017 Arthur Ivanets, arthur.ivanets.work@gmail.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.example.videoplayerusingmedia3;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.example.videoplayerusingmedia3.player.Player;
+import com.example.videoplayerusingmedia3.util.misc.Preconditions;
+
+import java.util.List;
+
+/**
+ * A thread-safe implementation of the {@link PlayerNodePool}, backed by the {@link ArviPlayerNodePool}.
+ * <br>
+ * The key lookups ({@link #contains(String)}, as well as the misses of {@link #get(String)}) are lock-free,
+ * while the rest of the operations (including the access order updates) are serialized on a single lock.
+ * (Each operation is atomic on its own; the sequences of operations still require external synchronization)
+ * <br>
+ * Only the bookkeeping of the pool is thread-safe: the {@link Player} side effects of the operations that unbind the nodes
+ * ({@link #unregister(String)}, {@link #acquireOldest(String)}, etc.), such as stopping and detaching the Players,
+ * take place on the calling thread, so the operations that touch the initialized Players should only be performed
+ * on the main thread (the thread the Players are bound to). The release of the initialized (or initializing) Players ({@link #release(PlayerNode)}, etc.)
+ * is the exception, as it always gets handed over to the main thread (see {@link com.example.videoplayerusingmedia3.player.util.PlayerReleaseQueue}).
+ */
+final class ConcurrentPlayerNodePool implements PlayerNodePool {
+
+    private final ArviPlayerNodePool mPool;
+
+    ConcurrentPlayerNodePool(@NonNull PlayerNodePoolPolicy policy) {
+        mPool = new ArviPlayerNodePool(Preconditions.checkNonNull(policy), true);
+    }
+
+    @Override
+    public final void add(@NonNull PlayerNode player) {
+        synchronized (mPool) {
+            mPool.add(player);
+        }
+    }
+
+    @Override
+    public final void add(@NonNull String key, @NonNull Player player) {
+        synchronized (mPool) {
+            mPool.add(key, player);
+        }
+    }
+
+    @Nullable
+    @Override
+    public final PlayerNode remove(@NonNull PlayerNode playerNode) {
+        synchronized (mPool) {
+            return mPool.remove(playerNode);
+        }
+    }
+
+    @Nullable
+    @Override
+    public final PlayerNode remove(@NonNull String key) {
+        synchronized (mPool) {
+            return mPool.remove(key);
+        }
+    }
+
+    @Override
+    public final void unregister(@NonNull String key) {
+        synchronized (mPool) {
+            mPool.unregister(key);
+        }
+    }
+
+    @Nullable
+    @Override
+    public final PlayerNode acquire(@NonNull String key) {
+        synchronized (mPool) {
+            return mPool.acquire(key);
+        }
+    }
+
+    @Nullable
+    @Override
+    public final PlayerNode acquireFree(@NonNull String key) {
+        synchronized (mPool) {
+            return mPool.acquireFree(key);
+        }
+    }
+
+    @Nullable
+    @Override
+    public final PlayerNode acquireFree(@NonNull String key, @NonNull Object type) {
+        synchronized (mPool) {
+            return mPool.acquireFree(key, type);
+        }
+    }
+
+    @Nullable
+    @Override
+    public final PlayerNode acquireOldest(@NonNull String key) {
+        synchronized (mPool) {
+            return mPool.acquireOldest(key);
+        }
+    }
+
+    @Nullable
+    @Override
+    public final PlayerNode acquireOldest(@NonNull String key, @NonNull Object type) {
+        synchronized (mPool) {
+            return mPool.acquireOldest(key, type);
+        }
+    }
+
+    @NonNull
+    @Override
+    public final PlayerNode handOver(@NonNull PlayerNode playerNode, @NonNull String key) {
+        synchronized (mPool) {
+            return mPool.handOver(playerNode, key);
+        }
+    }
+
+    @Override
+    public final void release(@NonNull PlayerNode playerNode) {
+        synchronized (mPool) {
+            mPool.release(playerNode);
+        }
+    }
+
+    @Override
+    public final void release(@NonNull String key) {
+        synchronized (mPool) {
+            mPool.release(key);
+        }
+    }
+
+    @Override
+    public final void release() {
+        synchronized (mPool) {
+            mPool.release();
+        }
+    }
+
+    @Override
+    public final void releaseFree(int retainCount) {
+        synchronized (mPool) {
+            mPool.releaseFree(retainCount);
+        }
+    }
+
+    @Override
+    public final void trim() {
+        synchronized (mPool) {
+            mPool.trim();
+        }
+    }
+
+    @Nullable
+    @Override
+    public final PlayerNode get(@NonNull String key) {
+        // the lock is only taken for the keys that are present (to update the access order)
+        if (!mPool.contains(key)) {
+            return null;
+        }
+
+        synchronized (mPool) {
+            return mPool.get(key);
+        }
+    }
+
+    @Nullable
+    @Override
+    public final PlayerNode getFree() {
+        synchronized (mPool) {
+            return mPool.getFree();
+        }
+    }
+
+    @Nullable
+    @Override
+    public final PlayerNode getOldest() {
+        synchronized (mPool) {
+            return mPool.getOldest();
+        }
+    }
+
+    @NonNull
+    @Override
+    public final List<PlayerNode> getPlayerNodes() {
+        synchronized (mPool) {
+            return mPool.getPlayerNodes();
+        }
+    }
+
+    @NonNull
+    @Override
+    public final PlayerNodePoolPolicy getPolicy() {
+        return mPool.getPolicy();
+    }
+
+    @Nullable
+    @Override
+    public final PlayerNode peekOldest() {
+        synchronized (mPool) {
+            return mPool.peekOldest();
+        }
+    }
+
+    @Override
+    public final int getPlayerCount() {
+        synchronized (mPool) {
+            return mPool.getPlayerCount();
+        }
+    }
+
+    @Override
+    public final boolean isFull() {
+        synchronized (mPool) {
+            return mPool.isFull();
+        }
+    }
+
+    @Override
+    public final boolean contains(@NonNull String key) {
+        return mPool.contains(key);
+    }
+
+}
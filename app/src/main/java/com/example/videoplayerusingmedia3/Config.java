@@ -1,8 +1,10 @@
 package com.example.videoplayerusingmedia3;
 
+import android.os.Looper;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.core.util.ObjectsCompat;
 import androidx.media3.common.util.UnstableApi;
 import androidx.media3.datasource.DataSource;
 import androidx.media3.datasource.cache.Cache;
@@ -14,8 +16,21 @@ import androidx.media3.exoplayer.upstream.DefaultBandwidthMeter;
 import com.example.videoplayerusingmedia3.player.util.BaseMeter;
 import com.example.videoplayerusingmedia3.util.misc.Preconditions;
 
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * An immutable {@link com.example.videoplayerusingmedia3.player.Player} configuration.
+ * <br>
+ * The instances are interned by the {@link Builder}, so the equal configurations are represented
+ * by the same instance (which makes the identity comparison sufficient for the lookups).
+ * The default components are shared by all the Builders, so the configurations that don't override them are equal.
+ */
 public final class Config {
 
+    private static final Map<Config, WeakReference<Config>> INTERNED_CONFIGS = new WeakHashMap<>();
+
     @DefaultRenderersFactory.ExtensionRendererMode
     public final int extensionMode;
 
@@ -31,12 +46,38 @@ public final class Config {
     @Nullable
     public final DataSource.Factory dataSourceFactory;
 
+    @Nullable
+    public final Looper playbackLooper;
+
+    @Nullable
+    public final PlayerNodePoolPolicy poolPolicy;
+
+    private final int hashCode;
+
     private Config(Builder builder) {
         this.extensionMode = builder.extensionMode;
         this.meter = builder.meter;
         this.loadControl = builder.loadControl;
         this.cache = builder.cache;
         this.dataSourceFactory = builder.dataSourceFactory;
+        this.playbackLooper = builder.playbackLooper;
+        this.poolPolicy = builder.poolPolicy;
+        this.hashCode = computeHashCode();
+    }
+
+    private static Config intern(Config config) {
+        synchronized (INTERNED_CONFIGS) {
+            final WeakReference<Config> internedConfigRef = INTERNED_CONFIGS.get(config);
+            final Config internedConfig = ((internedConfigRef != null) ? internedConfigRef.get() : null);
+
+            if (internedConfig != null) {
+                return internedConfig;
+            }
+
+            INTERNED_CONFIGS.put(config, new WeakReference<>(config));
+
+            return config;
+        }
     }
 
     /**
@@ -53,8 +94,26 @@ public final class Config {
         return (this.dataSourceFactory != null);
     }
 
+    /**
+     * Determines if the shared playback {@link Looper} is set.
+     */
+    public final boolean hasPlaybackLooper() {
+        return (this.playbackLooper != null);
+    }
+
+    /**
+     * Determines if the {@link PlayerNodePoolPolicy} override is set.
+     */
+    public final boolean hasPoolPolicy() {
+        return (this.poolPolicy != null);
+    }
+
     @Override
     public final int hashCode() {
+        return this.hashCode;
+    }
+
+    private int computeHashCode() {
         final int prime = 31;
         int result = 17;
         result = ((prime * result) + this.extensionMode);
@@ -62,20 +121,51 @@ public final class Config {
         result = ((prime * result) + this.loadControl.hashCode());
         result = ((prime * result) + (hasCache() ? this.cache.hashCode() : 0));
         result = ((prime * result) + (hasDataSourceFactory() ? this.dataSourceFactory.hashCode() : 0));
+        result = ((prime * result) + (hasPlaybackLooper() ? this.playbackLooper.hashCode() : 0));
+        result = ((prime * result) + (hasPoolPolicy() ? this.poolPolicy.hashCode() : 0));
 
         return result;
     }
 
     @Override
     public final boolean equals(Object obj) {
-        return ((obj instanceof Config) && (obj.hashCode() == hashCode()));
+        if (this == obj) {
+            return true;
+        }
+
+        if (!(obj instanceof Config) || (obj.hashCode() != this.hashCode)) {
+            return false;
+        }
+
+        final Config other = (Config) obj;
+
+        return ((this.extensionMode == other.extensionMode)
+            && this.meter.equals(other.meter)
+            && this.loadControl.equals(other.loadControl)
+            && ObjectsCompat.equals(this.cache, other.cache)
+            && ObjectsCompat.equals(this.dataSourceFactory, other.dataSourceFactory)
+            && (this.playbackLooper == other.playbackLooper)
+            && ObjectsCompat.equals(this.poolPolicy, other.poolPolicy));
     }
 
 
+    /**
+     * The default components shared by the {@link Builder}s (created lazily, upon the first use of the Builder).
+     */
     @UnstableApi
-    public static final class Builder {
+    private static final class Defaults {
+
+        static final DefaultBandwidthMeter BANDWIDTH_METER = new DefaultBandwidthMeter();
+
+        static final BaseMeter<?, ?> METER = new BaseMeter<>(BANDWIDTH_METER, BANDWIDTH_METER);
+
+        static final LoadControl LOAD_CONTROL = new DefaultLoadControl();
+
+    }
 
-        private final DefaultBandwidthMeter bandwidthMeter = new DefaultBandwidthMeter();
+
+    @UnstableApi
+    public static final class Builder {
 
         private int extensionMode;
 
@@ -85,12 +175,18 @@ public final class Config {
         private Cache cache;
         private DataSource.Factory dataSourceFactory;
 
+        private Looper playbackLooper;
+
+        private PlayerNodePoolPolicy poolPolicy;
+
         public Builder() {
             this.extensionMode = DefaultRenderersFactory.EXTENSION_RENDERER_MODE_OFF;
-            this.meter = new BaseMeter<>(bandwidthMeter, bandwidthMeter);
-            this.loadControl = new DefaultLoadControl();
+            this.meter = Defaults.METER;
+            this.loadControl = Defaults.LOAD_CONTROL;
             this.cache = null;
             this.dataSourceFactory = null;
+            this.playbackLooper = null;
+            this.poolPolicy = null;
         }
 
         public Builder extensionMode(@DefaultRenderersFactory.ExtensionRendererMode int extensionMode) {
@@ -119,8 +215,33 @@ public final class Config {
             return this;
         }
 
+        /**
+         * Sets the {@link Looper} of the playback thread to be shared by all the {@link com.example.videoplayerusingmedia3.player.Player}s
+         * created for this configuration, so that the number of the playback threads doesn't grow along with the Player Pool.
+         * (By default, each of the Players spawns its own playback thread)
+         * <br>
+         * The Looper must belong to a started thread that outlives the Players (e.g. a {@link android.os.HandlerThread}
+         * with the {@link android.os.Process#THREAD_PRIORITY_AUDIO} priority), as the Players never quit it.
+         */
+        public Builder playbackLooper(@Nullable Looper playbackLooper) {
+            this.playbackLooper = playbackLooper;
+            return this;
+        }
+
+        /**
+         * Sets the {@link PlayerNodePoolPolicy} of the Player Pool created for this configuration,
+         * overriding the one of the injected {@link PlayerNodePoolFactory} (see {@link ArviPlugins#setPlayerNodePoolFactory(PlayerNodePoolFactory)}).
+         */
+        public Builder poolPolicy(@Nullable PlayerNodePoolPolicy poolPolicy) {
+            this.poolPolicy = poolPolicy;
+            return this;
+        }
+
+        /**
+         * Builds the {@link Config}, reusing the already existing equal instance (if there's any).
+         */
         public Config build() {
-            return new Config(this);
+            return intern(new Config(this));
         }
 
     }
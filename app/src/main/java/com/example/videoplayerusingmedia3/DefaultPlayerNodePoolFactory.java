@@ -18,17 +18,53 @@ package com.example.videoplayerusingmedia3;
 
 import androidx.annotation.NonNull;
 
+import com.example.videoplayerusingmedia3.util.misc.Preconditions;
+
 /**
  * A default implementation of the {@link PlayerNodePoolFactory}.
  */
 public final class DefaultPlayerNodePoolFactory implements PlayerNodePoolFactory {
 
-    private static final int MAX_POOL_SIZE = Runtime.getRuntime().availableProcessors();
+    private final PlayerNodePoolPolicy policy;
+
+    private final boolean concurrent;
+
+    public DefaultPlayerNodePoolFactory() {
+        this(new PlayerNodePoolPolicy.Builder().build());
+    }
+
+    public DefaultPlayerNodePoolFactory(@NonNull PlayerNodePoolPolicy policy) {
+        this(policy, false);
+    }
+
+    /**
+     * @param policy     the sizing policy of the created pools
+     * @param concurrent whether to create the pools with the thread-safe bookkeeping (to be used when the pools are
+     *                   accessed from the threads other than the main one), or not
+     */
+    public DefaultPlayerNodePoolFactory(@NonNull PlayerNodePoolPolicy policy, boolean concurrent) {
+        this.policy = Preconditions.checkNonNull(policy);
+        this.concurrent = concurrent;
+    }
 
     @NonNull
     @Override
     public final PlayerNodePool create() {
-        return new ArviPlayerNodePool(MAX_POOL_SIZE);
+        return create(this.policy);
+    }
+
+    @NonNull
+    @Override
+    public final PlayerNodePool create(@NonNull PlayerNodePoolPolicy policy) {
+        Preconditions.nonNull(policy);
+
+        return (this.concurrent ? new ConcurrentPlayerNodePool(policy) : new ArviPlayerNodePool(policy));
+    }
+
+    @NonNull
+    @Override
+    public final PlayerNodePoolPolicy getPolicy() {
+        return this.policy;
     }
 
 }
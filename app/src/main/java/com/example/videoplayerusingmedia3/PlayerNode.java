@@ -16,8 +16,6 @@
 
 package com.example.videoplayerusingmedia3;
 
-import android.text.TextUtils;
-
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.annotation.RestrictTo;
@@ -31,20 +29,50 @@ import com.example.videoplayerusingmedia3.util.misc.Preconditions;
 @RestrictTo(RestrictTo.Scope.LIBRARY)
 public final class PlayerNode implements Comparable<PlayerNode> {
 
+    /**
+     * The type of the regular {@link Player}s (the ones that can be used with any PlayerView).
+     */
+    public static final Object DEFAULT_TYPE = new Object();
+
+    private final Object type;
+
     private long lastAccessTime;
     private String key;
     private Player player;
 
     public PlayerNode(@NonNull Player player) {
-        this(System.currentTimeMillis(), player);
+        this(player, DEFAULT_TYPE);
+    }
+
+    /**
+     * @param player the player
+     * @param type   the token that determines the compatibility of the player (compared by identity;
+     *               e.g. the PlayerView the player is bound to), so that the node is only reused for the same type
+     */
+    public PlayerNode(@NonNull Player player, @NonNull Object type) {
+        this(System.currentTimeMillis(), player, type);
     }
 
     public PlayerNode(long lastAccessTime, @NonNull Player player) {
+        this(lastAccessTime, player, DEFAULT_TYPE);
+    }
+
+    public PlayerNode(long lastAccessTime, @NonNull Player player, @NonNull Object type) {
         this.lastAccessTime = lastAccessTime;
         this.player = Preconditions.checkNonNull(player);
+        this.type = Preconditions.checkNonNull(type);
         this.key = "";
     }
 
+    @NonNull
+    public final Object getType() {
+        return this.type;
+    }
+
+    public final boolean isOfType(@NonNull Object type) {
+        return (this.type == type);
+    }
+
     @NonNull
     public final PlayerNode setLastAccessTime(long lastAccessTime) {
         this.lastAccessTime = lastAccessTime;
@@ -88,7 +116,7 @@ public final class PlayerNode implements Comparable<PlayerNode> {
     }
 
     public final boolean isKeySet() {
-        return !TextUtils.isEmpty(this.key);
+        return !this.key.isEmpty();
     }
 
     @Override
@@ -104,12 +132,13 @@ public final class PlayerNode implements Comparable<PlayerNode> {
 
     @Override
     public final int hashCode() {
-        return ((this.player != null) ? this.player.hashCode() : super.hashCode());
+        // identity-based, as the node is tracked by the pool while its player changes
+        return System.identityHashCode(this);
     }
 
     @Override
     public final boolean equals(Object obj) {
-        return ((obj instanceof PlayerProviderImpl) && (hashCode() == obj.hashCode()));
+        return (this == obj);
     }
 
 }
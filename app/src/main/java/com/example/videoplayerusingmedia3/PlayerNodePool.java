@@ -21,6 +21,8 @@ import androidx.annotation.Nullable;
 
 import com.example.videoplayerusingmedia3.player.Player;
 
+import java.util.List;
+
 /**
  * A base contract for the concrete implementations of the {@link PlayerNodePool}.
  */
@@ -83,6 +85,16 @@ interface PlayerNodePool {
     @Nullable
     PlayerNode acquireFree(@NonNull String key);
 
+    /**
+     * Registers (acquires) the available free {@link PlayerNode} of the specified type for the specified key, if there's any.
+     *
+     * @param key  the key to register the player node for
+     * @param type the required player node type (see {@link PlayerNode#getType()})
+     * @return the registered player node
+     */
+    @Nullable
+    PlayerNode acquireFree(@NonNull String key, @NonNull Object type);
+
     /**
      * Registers (acquires) the oldest available {@link PlayerNode} for the specified key.
      * If no available {@link PlayerNode} was found, unregisters the oldest one and re-registers it (now for the new key).
@@ -93,8 +105,31 @@ interface PlayerNodePool {
     @Nullable
     PlayerNode acquireOldest(@NonNull String key);
 
+    /**
+     * Registers (acquires) the oldest {@link PlayerNode} of the specified type for the specified key, if there's any.
+     * (The acquired player node gets unregistered from the key it was previously registered for)
+     *
+     * @param key  the key to register the player node for
+     * @param type the required player node type (see {@link PlayerNode#getType()})
+     * @return the registered player node, or <strong>null</strong> if there's no player node of the specified type
+     */
+    @Nullable
+    PlayerNode acquireOldest(@NonNull String key, @NonNull Object type);
+
+    /**
+     * Re-registers the specified {@link PlayerNode} for the specified key, without interrupting its {@link Player}
+     * (the Player stays prepared, but gets detached from the Playable it was previously used by).
+     *
+     * @param playerNode the player node to be handed over
+     * @param key        the key to register the player node for
+     * @return the handed over player node
+     */
+    @NonNull
+    PlayerNode handOver(@NonNull PlayerNode playerNode, @NonNull String key);
+
     /**
      * Releases the specified {@link PlayerNode}.
+     * (The blocking release of its {@link Player} is deferred via the {@link com.example.videoplayerusingmedia3.player.util.PlayerReleaseQueue})
      *
      * @param playerNode the player node to be released
      */
@@ -112,6 +147,20 @@ interface PlayerNodePool {
      */
     void release();
 
+    /**
+     * Releases the free {@link PlayerNode}s (the ones that have been free the longest first),
+     * until the specified number of the free nodes is left.
+     *
+     * @param retainCount the number of the free nodes to keep
+     */
+    void releaseFree(int retainCount);
+
+    /**
+     * Releases the free {@link PlayerNode}s that exceed the limits imposed by the {@link PlayerNodePoolPolicy}
+     * (the maximum idle node count and the idle node time-to-live).
+     */
+    void trim();
+
     /**
      * Retrieves the {@link PlayerNode} for the specified key.
      *
@@ -137,6 +186,31 @@ interface PlayerNodePool {
     @Nullable
     PlayerNode getOldest();
 
+    /**
+     * Retrieves all the {@link PlayerNode}s held by the current pool (the least recently used first),
+     * without updating their access times.
+     *
+     * @return the list of the player nodes
+     */
+    @NonNull
+    List<PlayerNode> getPlayerNodes();
+
+    /**
+     * Retrieves the {@link PlayerNodePoolPolicy} the current pool adheres to.
+     *
+     * @return the pool sizing policy
+     */
+    @NonNull
+    PlayerNodePoolPolicy getPolicy();
+
+    /**
+     * Retrieves the oldest {@link PlayerNode} in the current pool, without updating its access time.
+     *
+     * @return the oldest player node, or <strong>null</strong> if the pool is empty
+     */
+    @Nullable
+    PlayerNode peekOldest();
+
     /**
      * Retrieves the number of the {@link PlayerNode}s held by the current pool.
      *
@@ -31,4 +31,22 @@ public interface PlayerNodePoolFactory {
     @NonNull
     PlayerNodePool create();
 
+    /**
+     * Creates a new instance of the {@link PlayerNodePool} with the specified {@link PlayerNodePoolPolicy}
+     * (used for the Player {@link Config}s that override the pool policy).
+     *
+     * @param policy the pool sizing policy
+     * @return the created {@link PlayerNodePool} instance
+     */
+    @NonNull
+    PlayerNodePool create(@NonNull PlayerNodePoolPolicy policy);
+
+    /**
+     * Retrieves the {@link PlayerNodePoolPolicy} applied to the created {@link PlayerNodePool}s.
+     *
+     * @return the pool sizing policy
+     */
+    @NonNull
+    PlayerNodePoolPolicy getPolicy();
+
 }
\ No newline at end of file
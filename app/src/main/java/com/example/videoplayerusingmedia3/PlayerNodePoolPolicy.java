@@ -0,0 +1,124 @@
+/*
+ * Copyright 2017 Arthur Ivanets, arthur.ivanets.work@gmail.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.example.videoplayerusingmedia3;
+
+import com.example.videoplayerusingmedia3.util.misc.Preconditions;
+
+/**
+ * Defines the sizing policy of the {@link PlayerNodePool}: the maximum number of the {@link PlayerNode}s,
+ * as well as the bounds for the number of the free (idle) ones and the time the idle ones are kept alive for.
+ */
+public final class PlayerNodePoolPolicy {
+
+    /**
+     * The default maximum number of the {@link PlayerNode}s held by the pool.
+     */
+    public static final int DEFAULT_MAX_SIZE = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * The default idle {@link PlayerNode} time-to-live (30 seconds in millis).
+     */
+    public static final long DEFAULT_IDLE_TIME_TO_LIVE = 30_000L;
+
+    public final int maxSize;
+
+    public final int minIdleCount;
+
+    public final int maxIdleCount;
+
+    public final long idleTimeToLive;
+
+    private PlayerNodePoolPolicy(int maxSize, int minIdleCount, int maxIdleCount, long idleTimeToLive) {
+        this.maxSize = maxSize;
+        this.minIdleCount = minIdleCount;
+        this.maxIdleCount = maxIdleCount;
+        this.idleTimeToLive = idleTimeToLive;
+    }
+
+    /**
+     * Determines if the time-based idle {@link PlayerNode} eviction is enabled.
+     */
+    public final boolean isIdleEvictionEnabled() {
+        return (this.idleTimeToLive > 0L);
+    }
+
+
+    public static final class Builder {
+
+        private int maxSize;
+        private int minIdleCount;
+        private int maxIdleCount;
+        private long idleTimeToLive;
+
+        public Builder() {
+            this.maxSize = DEFAULT_MAX_SIZE;
+            this.minIdleCount = -1;
+            this.maxIdleCount = -1;
+            this.idleTimeToLive = DEFAULT_IDLE_TIME_TO_LIVE;
+        }
+
+        /**
+         * Sets the maximum number of the {@link PlayerNode}s (both bound and free) held by the pool.
+         */
+        public Builder maxSize(int maxSize) {
+            this.maxSize = maxSize;
+            return this;
+        }
+
+        /**
+         * Sets the number of the free {@link PlayerNode}s that are kept warm regardless of their idle time.
+         * (Defaults to a single warm node, if the max idle count permits)
+         */
+        public Builder minIdleCount(int minIdleCount) {
+            this.minIdleCount = minIdleCount;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of the free {@link PlayerNode}s; the excess ones get released right away.
+         * (Defaults to the {@link #maxSize(int)})
+         */
+        public Builder maxIdleCount(int maxIdleCount) {
+            this.maxIdleCount = maxIdleCount;
+            return this;
+        }
+
+        /**
+         * Sets the time (in millis) after which a free {@link PlayerNode} gets released,
+         * unless the number of the free nodes is already at the {@link #minIdleCount(int)}.
+         * (<strong>0</strong> disables the time-based eviction)
+         */
+        public Builder idleTimeToLive(long idleTimeToLive) {
+            this.idleTimeToLive = idleTimeToLive;
+            return this;
+        }
+
+        public PlayerNodePoolPolicy build() {
+            final int maxIdleCount = ((this.maxIdleCount >= 0) ? this.maxIdleCount : this.maxSize);
+            final int minIdleCount = ((this.minIdleCount >= 0) ? this.minIdleCount : Math.min(1, maxIdleCount));
+
+            Preconditions.isTrue("You must specify a valid Pool Max Size.", (this.maxSize >= 0));
+            Preconditions.isTrue("You must specify a valid Min Idle Count.", (minIdleCount <= maxIdleCount));
+            Preconditions.isTrue("You must specify a valid Max Idle Count.", (maxIdleCount <= this.maxSize));
+            Preconditions.isTrue("You must specify a valid Idle Time-To-Live.", (this.idleTimeToLive >= 0L));
+
+            return new PlayerNodePoolPolicy(this.maxSize, minIdleCount, maxIdleCount, this.idleTimeToLive);
+        }
+
+    }
+
+}
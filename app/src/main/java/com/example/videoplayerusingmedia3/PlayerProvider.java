@@ -9,6 +9,10 @@ import androidx.media3.common.MediaItem;
 import androidx.media3.ui.PlayerView;
 
 import com.example.videoplayerusingmedia3.player.Player;
+import com.example.videoplayerusingmedia3.util.stats.PoolStats;
+
+import java.util.Collection;
+import java.util.Map;
 
 /**
  * Defines a base contract for the concrete {@link PlayerProvider} implementations.
@@ -121,6 +125,83 @@ public interface PlayerProvider {
     @NonNull
     Player getOrInitAdSupportedPlayer(@NonNull Config config, @NonNull String key, PlayerView playerView);
 
+    /**
+     * Retrieves an existing or create a brand-new {@link Player} instance for the specified key and Player {@link Config},
+     * and delivers it to the specified callback once it's initialized.
+     * (The underlying player gets constructed on a dedicated background thread, so the calling (main) thread is never blocked by it)
+     * <br>
+     * Must be called on the main thread.
+     *
+     * @param config   the player configuration
+     * @param key      the key to retrieve the player for
+     * @param callback the callback to deliver the initialized Player to (on the main thread)
+     */
+    void getOrInitPlayerAsync(@NonNull Config config, @NonNull String key, @NonNull PlayerCallback callback);
+
+    /**
+     * Retrieves an existing or create a brand-new {@link Player} instance for the specified key and Player {@link Config},
+     * and delivers it to the specified callback once it's initialized.
+     * (See {@link #getOrInitPlayerAsync(Config, String, PlayerCallback)})
+     * <br>
+     * If the media deduplication is enabled (see {@link ArviPlugins#setMediaDeduplicationEnabled(boolean)}), an inactive Player
+     * already prepared with the same media under a different key is handed over to the specified key instead of creating a new one.
+     *
+     * @param config   the player configuration
+     * @param key      the key to retrieve the player for
+     * @param mediaUri the uri of the media to be played by the player
+     * @param callback the callback to deliver the initialized Player to (on the main thread)
+     */
+    void getOrInitPlayerAsync(@NonNull Config config, @NonNull String key, @NonNull Uri mediaUri, @NonNull PlayerCallback callback);
+
+    /**
+     * Retrieves an existing or create a brand-new Ad Supported {@link Player} instance for the specified key and Player {@link Config},
+     * and delivers it to the specified callback once it's initialized.
+     * (See {@link #getOrInitPlayerAsync(Config, String, PlayerCallback)})
+     *
+     * @param config     the player configuration
+     * @param key        the key to retrieve the player for
+     * @param playerView the PlayerView to display the ads in
+     * @param callback   the callback to deliver the initialized Player to (on the main thread)
+     */
+    void getOrInitAdSupportedPlayerAsync(@NonNull Config config,
+                                         @NonNull String key,
+                                         @NonNull PlayerView playerView,
+                                         @NonNull PlayerCallback callback);
+
+    /**
+     * Schedules the creation and initialization of the specified number of the free {@link Player}s,
+     * so that the subsequent {@link #getOrInitPlayer(String)} calls reuse the already initialized Players.
+     * Uses the default Player {@link Config}.
+     *
+     * @param count the number of the Players to be pre-warmed
+     */
+    void prewarm(int count);
+
+    /**
+     * Schedules the creation and initialization of the specified number of the free {@link Player}s
+     * for the specified Player {@link Config}, so that the subsequent {@link #getOrInitPlayer(Config, String)}
+     * calls reuse the already initialized Players.
+     * (The Players are created one by one, while the main thread is idle, and never exceed the Player Pool limit)
+     * <br>
+     * The pre-warmed Players are free Players, and thus are subject to the idle eviction of the {@link PlayerNodePoolPolicy}:
+     * the ones left unused for longer than the idle time-to-live get released down to the min idle count
+     * (a single Player by default). To keep all of them warm, use a policy whose min idle count is not lower
+     * than the pre-warmed count (see {@link Config.Builder#poolPolicy(PlayerNodePoolPolicy)}).
+     *
+     * @param config the player configuration
+     * @param count  the number of the Players to be pre-warmed
+     */
+    void prewarm(@NonNull Config config, int count);
+
+    /**
+     * Retrieves the snapshot of the Player Pool statistics (the Player acquisition outcomes and latencies).
+     * (Can be safely called from any thread)
+     *
+     * @return the pool statistics snapshot
+     */
+    @NonNull
+    PoolStats getPoolStats();
+
     /**
      * Checks if there's a {@link Player} available for the specified key.
      * Uses the default Player {@link Config}.
@@ -155,6 +236,16 @@ public interface PlayerProvider {
      */
     void unregister(@NonNull Config config, @NonNull String key);
 
+    /**
+     * Unregisters the {@link Player}s for the specified keys and {@link Config}, thus making them available
+     * within the Player Pool as "free" Players.
+     * (The corresponding Player Pool is resolved only once for all the keys)
+     *
+     * @param config the player configuration
+     * @param keys   the keys to unregister the Players for
+     */
+    void unregister(@NonNull Config config, @NonNull Collection<String> keys);
+
     /**
      * Releases the {@link Player} for the specified key.
      * Uses the default Player {@link Config}.
@@ -178,10 +269,90 @@ public interface PlayerProvider {
      */
     void release(@NonNull Config config, @NonNull String key);
 
+    /**
+     * Releases the {@link Player}s for the specified keys and {@link Config}.
+     * (The corresponding Player Pool is resolved only once for all the keys)
+     *
+     * @param config the player configuration
+     * @param keys   the keys to release the Players for
+     */
+    void release(@NonNull Config config, @NonNull Collection<String> keys);
+
     /**
      * Releases all the currently available (initialized) {@link Player}s.
      */
     void release();
 
+    /**
+     * Pauses the playing {@link Player}s for the specified keys and {@link Config},
+     * and stores their playback positions in the {@link com.example.videoplayerusingmedia3.util.cache.PlaybackInfoCache}.
+     * (The corresponding Player Pool is resolved only once for all the keys)
+     *
+     * @param config the player configuration
+     * @param keys   the keys to pause the Players for
+     */
+    void pause(@NonNull Config config, @NonNull Collection<String> keys);
+
+    /**
+     * Pauses all the playing {@link Player}s that match the specified {@link Config},
+     * and stores their playback positions in the {@link com.example.videoplayerusingmedia3.util.cache.PlaybackInfoCache}
+     * (in a single pass over the corresponding Player Pool).
+     *
+     * @param config the player configuration
+     */
+    void pauseAll(@NonNull Config config);
+
+    /**
+     * Stores the current playback positions of all the key-bound {@link Player}s that match the specified {@link Config}
+     * in the {@link com.example.videoplayerusingmedia3.util.cache.PlaybackInfoCache} (in a single pass over the corresponding Player Pool).
+     *
+     * @param config the player configuration
+     * @return the stored playback positions (in millis), keyed by the Player keys
+     */
+    @NonNull
+    Map<String, Long> snapshotPositions(@NonNull Config config);
+
+    /**
+     * Reduces the memory held by the {@link Player}s, according to the specified memory trim level
+     * (see {@link android.content.ComponentCallbacks2}):
+     * <br>
+     * - {@link android.content.ComponentCallbacks2#TRIM_MEMORY_RUNNING_MODERATE} and
+     * {@link android.content.ComponentCallbacks2#TRIM_MEMORY_RUNNING_LOW} - release the free Players
+     * down to the warm floor of the corresponding Player Pools;
+     * <br>
+     * - {@link android.content.ComponentCallbacks2#TRIM_MEMORY_RUNNING_CRITICAL} - releases all the free Players
+     * and stops the inactive ones (thus dropping their buffers);
+     * <br>
+     * - {@link android.content.ComponentCallbacks2#TRIM_MEMORY_UI_HIDDEN} - releases the free Players
+     * down to the warm floor of the corresponding Player Pools (the UI getting hidden is not a sign of the memory pressure on its own);
+     * <br>
+     * - {@link android.content.ComponentCallbacks2#TRIM_MEMORY_BACKGROUND} and above - releases all the Players, except
+     * for the most recently used one.
+     * <br>
+     * (The TRIM_MEMORY_RUNNING_* levels are lower than the TRIM_MEMORY_UI_HIDDEN one, so each of the levels is handled on its own,
+     * rather than as a mere lower bound)
+     * <br>
+     * The playback positions of the affected Players are preserved within the
+     * {@link com.example.videoplayerusingmedia3.util.cache.PlaybackInfoCache}.
+     *
+     * @param level the memory trim level
+     */
+    void onTrimMemory(int level);
+
+    /**
+     * A callback used to deliver the asynchronously initialized {@link Player}s.
+     */
+    interface PlayerCallback {
+
+        /**
+         * Gets called (on the main thread) once the {@link Player} is initialized and ready to be used.
+         * (Not called if the Player gets released before its initialization completes)
+         *
+         * @param player the initialized Player
+         */
+        void onPlayerReady(@NonNull Player player);
+
+    }
+
 }
 
@@ -1,10 +1,21 @@
 package com.example.videoplayerusingmedia3;
 
 
-import static androidx.media3.common.util.Util.getUserAgent;
-
+import android.app.Activity;
+import android.app.ActivityManager;
+import android.app.Application;
+import android.content.ComponentCallbacks2;
 import android.content.Context;
 import android.net.Uri;
+import android.os.Build;
+import android.os.Bundle;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Looper;
+import android.os.MessageQueue;
+import android.os.Process;
+import android.os.SystemClock;
+import android.os.Trace;
 import android.util.Pair;
 
 import androidx.annotation.NonNull;
@@ -17,13 +28,22 @@ import androidx.media3.ui.PlayerView;
 
 import com.example.videoplayerusingmedia3.player.Player;
 import com.example.videoplayerusingmedia3.player.creator.PlayerCreator;
+import com.example.videoplayerusingmedia3.player.util.PlayerReleaseQueue;
+import com.example.videoplayerusingmedia3.util.cache.PlaybackInfoCache;
 import com.example.videoplayerusingmedia3.util.misc.Preconditions;
+import com.example.videoplayerusingmedia3.util.stats.PoolStats;
+import com.example.videoplayerusingmedia3.util.stats.PoolStatsRecorder;
 
 import java.net.CookieHandler;
 import java.net.CookieManager;
 import java.net.CookiePolicy;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * The main {@link PlayerProvider} responsible for the management of all the {@link Player}s
@@ -34,16 +54,42 @@ public final class PlayerProviderImpl implements PlayerProvider {
 
     public static final Config DEFAULT_CONFIG = new Config.Builder().build();
 
+    // the callback of the asynchronous initializations nobody is waiting for (e.g. the pre-warming ones)
+    private static final Runnable NO_OP_CALLBACK = () -> {};
+
     @SuppressWarnings("StaticFieldLeak")
     private volatile static PlayerProvider sInstance;
 
-    private final String mApplicationName;
+    private volatile String mApplicationName;
 
     private final Context mContext;
 
+    private final Handler mMainHandler;
+    private volatile Handler mPlayerInitHandler;
+
     private final Map<Config, PlayerCreator> mConfigCreatorMap;
     private final Map<PlayerCreator, PlayerNodePool> mCreatorNodePoolMap;
 
+    private volatile int mMaxPlayerCount;
+    private volatile boolean mArePluginsLockedDown;
+    private volatile boolean mIsMediaDeduplicationEnabled;
+
+    private final long mStartupTime;
+
+    private final PoolStatsRecorder mStatsRecorder;
+
+    private final Object mAcquisitionLock;
+
+    // (guarded by the acquisition lock)
+    private final List<SuspendedPlayer> mSuspendedPlayers;
+    private final Runnable mSuspensionTask;
+
+    // (guarded by the acquisition lock)
+    private boolean mIsSuspended;
+
+    // (guarded by the acquisition lock)
+    private boolean mIsCookieManagerInstalled;
+
     public static PlayerProvider getInstance(@NonNull Context context) {
         Preconditions.nonNull(context);
 
@@ -59,14 +105,56 @@ public final class PlayerProviderImpl implements PlayerProvider {
     }
 
     private PlayerProviderImpl(Context context) {
-        ArviPlugins.lockDown();
+        final long creationTime = System.nanoTime();
+
+        Trace.beginSection("PlayerProviderImpl.init");
+
+        try {
+            mContext = context.getApplicationContext();
+            mMainHandler = new Handler(Looper.getMainLooper());
+            mConfigCreatorMap = new ConcurrentHashMap<>();
+            mCreatorNodePoolMap = new ConcurrentHashMap<>();
+            mStatsRecorder = PoolStatsRecorder.getInstance();
+            mAcquisitionLock = new Object();
+            mSuspendedPlayers = new ArrayList<>();
+            mSuspensionTask = this::onSuspensionCheck;
+            mIsSuspended = false;
+            mArePluginsLockedDown = false;
+            mIsCookieManagerInstalled = false;
+            mStartupTime = getStartupTime();
+        } finally {
+            Trace.endSection();
+        }
+
+        mStatsRecorder.recordProviderInitLatency(System.nanoTime() - creationTime);
+    }
+
+    /**
+     * Retrieves the time (in terms of the {@link SystemClock#elapsedRealtimeNanos()}) the time to the first Player acquisition is measured from:
+     * the start of the process where available, or the creation of the provider otherwise
+     * (the provider is usually created right before the first acquisition, so the latter mostly accounts for the provider creation itself).
+     */
+    private static long getStartupTime() {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.N) {
+            return TimeUnit.MILLISECONDS.toNanos(Process.getStartElapsedRealtime());
+        }
 
-        mApplicationName = Util.getUserAgent(context, "LokalApplication");
-        mContext = context.getApplicationContext();
-        mConfigCreatorMap = new HashMap<>();
-        mCreatorNodePoolMap = new HashMap<>();
+        return SystemClock.elapsedRealtimeNanos();
+    }
+
+    /**
+     * Installs the Cookie Manager upon the creation of the first Player (must be called while holding the acquisition lock).
+     */
+    private void installCookieManager() {
+        if (mIsCookieManagerInstalled) {
+            return;
+        }
 
-        initCookieManager();
+        mIsCookieManagerInstalled = true;
+
+        // the Cookie Manager is only needed by the network requests, which are never issued before the Players get created,
+        // so it's installed on the same background thread the Players get constructed on
+        getPlayerInitHandler().post(this::initCookieManager);
     }
 
     private void initCookieManager() {
@@ -79,6 +167,47 @@ public final class PlayerProviderImpl implements PlayerProvider {
         }
     }
 
+    /**
+     * Locks down the {@link ArviPlugins} and applies the plugin-dependent settings
+     * (performed upon the first actual use of the plugins, rather than upon the creation of the provider).
+     */
+    private void lockDownPlugins() {
+        if (mArePluginsLockedDown) {
+            return;
+        }
+
+        synchronized (this) {
+            if (mArePluginsLockedDown) {
+                return;
+            }
+
+            ArviPlugins.lockDown();
+
+            mMaxPlayerCount = getMaxPlayerCount(ArviPlugins.getPlayerNodePoolFactory());
+            mIsMediaDeduplicationEnabled = ArviPlugins.isMediaDeduplicationEnabled();
+            initProcessLifecycleObserver();
+
+            mArePluginsLockedDown = true;
+        }
+    }
+
+    private static int getMaxPlayerCount(PlayerNodePoolFactory poolFactory) {
+        final int maxPlayerCount = ArviPlugins.getMaxPlayerCount();
+
+        // the device capacity the adaptive pools are sized by is shared by all the pools
+        if (poolFactory instanceof AdaptivePlayerNodePoolFactory) {
+            return Math.min(maxPlayerCount, poolFactory.getPolicy().maxSize);
+        }
+
+        return maxPlayerCount;
+    }
+
+    private void initProcessLifecycleObserver() {
+        if (ArviPlugins.isBackgroundSuspensionEnabled() && (mContext instanceof Application)) {
+            ((Application) mContext).registerActivityLifecycleCallbacks(new ProcessLifecycleObserver());
+        }
+    }
+
     @NonNull
     @Override
     public final MediaItem createMediaItem(@NonNull Uri uri) {
@@ -117,6 +246,11 @@ public final class PlayerProviderImpl implements PlayerProvider {
     @NonNull
     @Override
     public final String getApplicationName() {
+        // (computed lazily, as it's rarely needed and involves the Package Manager lookup)
+        if (mApplicationName == null) {
+            mApplicationName = Util.getUserAgent(mContext, "LokalApplication");
+        }
+
         return mApplicationName;
     }
 
@@ -155,81 +289,297 @@ public final class PlayerProviderImpl implements PlayerProvider {
         Preconditions.nonNull(config);
         Preconditions.nonEmpty(key);
 
-        final Pair<PlayerCreator, PlayerNodePool> pair = getOrInit(config);
-        final PlayerCreator playerCreator = pair.first;
-        final PlayerNodePool playerNodePool = pair.second;
-
-        PlayerNode playerNode = playerNodePool.get(key);
-
-        if (playerNode == null) {
-            // checking to see if there's a free (detached) PlayerNode to be reused
-            final PlayerNode freePlayerNode = playerNodePool.acquireFree(key);
-
-            // in case of the absence of the free (detached) PlayerNode
-            if (freePlayerNode == null) {
-                // If the pool is full, we need to pick the PlayerNode
-                // that is considered "the oldest" in terms of the last access time,
-                // otherwise we can create a brand-new instance of the PlayerNode and add it to the pool
-                if (playerNodePool.isFull()) {
-                    playerNode = playerNodePool.acquireOldest(key);
-                } else {
-                    // creating a brand-new PlayerNode instance
-                    playerNode = new PlayerNode(playerCreator.createPlayer()).setKey(key);
+        return getOrInitPlayer(config, key, null, null);
+    }
+
+    @NonNull
+    @Override
+    public Player getOrInitAdSupportedPlayer(@NonNull Config config, @NonNull String key, PlayerView playerView) {
+        Preconditions.nonNull(config);
+        Preconditions.nonEmpty(key);
+        Preconditions.nonNull(playerView);
+
+        return getOrInitPlayer(config, key, playerView, null);
+    }
+
+    /**
+     * Retrieves an existing or creates a brand-new {@link Player} of the required type.
+     * (The Ad Supported Players are bound to the PlayerView they were created for, so
+     * they are only reused for the same PlayerView, while the regular ones are reused for any other regular Player request)
+     *
+     * @param adPlayerView the PlayerView of the Ad Supported Player, or <strong>null</strong> for the regular Player
+     * @param mediaUri     the uri of the media to be played, or <strong>null</strong> if unknown (no media deduplication)
+     */
+    private Player getOrInitPlayer(Config config, String key, @Nullable PlayerView adPlayerView, @Nullable Uri mediaUri) {
+        final long startTime = System.nanoTime();
+
+        mStatsRecorder.recordFirstAcquisition(SystemClock.elapsedRealtimeNanos() - mStartupTime);
+
+        // the lookup-or-create sequence (along with the budget checks) must be atomic as a whole,
+        // as the pools can be used concurrently (see ArviPlugins#setPlayerNodePoolFactory(PlayerNodePoolFactory))
+        synchronized (mAcquisitionLock) {
+            // (in case the return to the foreground went unnoticed)
+            resume();
+
+            final Pair<PlayerCreator, PlayerNodePool> pair = getOrInit(config);
+            final PlayerCreator playerCreator = pair.first;
+            final PlayerNodePool playerNodePool = pair.second;
+            final Object playerType = ((adPlayerView != null) ? adPlayerView : PlayerNode.DEFAULT_TYPE);
+
+            PlayerNode playerNode = playerNodePool.get(key);
+
+            // the PlayerNode registered for the key might be of a different type
+            // (e.g. when the ads got enabled for the item), in which case it cannot be used anymore
+            if ((playerNode != null) && !playerNode.isOfType(playerType)) {
+                playerNodePool.release(playerNode);
+                playerNode = null;
+            }
+
+            // checking to see if there's an inactive PlayerNode already prepared with the same media to be handed over
+            if ((playerNode == null) && (mediaUri != null) && (adPlayerView == null) && mIsMediaDeduplicationEnabled) {
+                playerNode = findPlayerNodeForMedia(playerNodePool, mediaUri);
+
+                if (playerNode != null) {
+                    // the previous key keeps its own playback position
+                    savePlaybackPosition(playerNode);
+                    playerNodePool.handOver(playerNode, key);
+                    mStatsRecorder.recordMediaHandOver();
+                    mStatsRecorder.recordAcquisitionLatency(System.nanoTime() - startTime);
+
+                    return playerNode.getPlayer();
+                }
+            }
 
-                    // adding it to the general pool
-                    playerNodePool.add(playerNode);
+            if (playerNode == null) {
+                // checking to see if there's a free (detached) PlayerNode of the same type to be reused
+                final PlayerNode freePlayerNode = playerNodePool.acquireFree(key, playerType);
+
+                // in case of the absence of the free (detached) PlayerNode
+                if (freePlayerNode == null) {
+                    // If the pool (or the overall Player budget) is full, we need to pick the PlayerNode of the same type
+                    // that is considered "the oldest" in terms of the last access time,
+                    // otherwise we can create a brand-new instance of the PlayerNode and add it to the pool
+                    if (playerNodePool.isFull() || !reclaimPlayerBudget(playerNodePool)) {
+                        playerNode = playerNodePool.acquireOldest(key, playerType);
+
+                        // in case there's no PlayerNode of the same type, the oldest one makes room for the new one
+                        final PlayerNode oldestPlayerNode = ((playerNode == null) ? playerNodePool.peekOldest() : null);
+
+                        if (oldestPlayerNode != null) {
+                            playerNodePool.release(oldestPlayerNode);
+                        }
+                    }
+
+                    if (playerNode != null) {
+                        mStatsRecorder.recordOldestEviction();
+                    } else {
+                        // creating a brand-new PlayerNode instance
+                        installCookieManager();
+
+                        final Player player = ((adPlayerView != null)
+                            ? playerCreator.createAdSupportedPlayer(adPlayerView)
+                            : playerCreator.createPlayer());
+
+                        playerNode = new PlayerNode(player, playerType).setKey(key);
+
+                        // adding it to the general pool
+                        playerNodePool.add(playerNode);
+                        mStatsRecorder.recordCreation();
+                    }
+                } else {
+                    // using the available "Free" (Detached) PlayerNode
+                    playerNode = freePlayerNode;
+                    mStatsRecorder.recordFreeReuse();
                 }
             } else {
-                // using the available "Free" (Detached) PlayerNode
-                playerNode = freePlayerNode;
+                mStatsRecorder.recordGetHit();
             }
+
+            mStatsRecorder.recordAcquisitionLatency(System.nanoTime() - startTime);
+
+            return playerNode.getPlayer();
         }
+    }
 
-        return playerNode.getPlayer();
+    @Override
+    public final void getOrInitPlayerAsync(@NonNull Config config, @NonNull String key, @NonNull PlayerCallback callback) {
+        Preconditions.nonNull(config);
+        Preconditions.nonEmpty(key);
+        Preconditions.nonNull(callback);
+
+        initPlayerAsync(getOrInitPlayer(config, key, null, null), callback);
     }
 
-    @NonNull
     @Override
-    public Player getOrInitAdSupportedPlayer(@NonNull Config config, @NonNull String key, PlayerView playerView) {
+    public final void getOrInitPlayerAsync(@NonNull Config config,
+                                           @NonNull String key,
+                                           @NonNull Uri mediaUri,
+                                           @NonNull PlayerCallback callback) {
+        Preconditions.nonNull(config);
+        Preconditions.nonEmpty(key);
+        Preconditions.nonNull(mediaUri);
+        Preconditions.nonNull(callback);
+
+        initPlayerAsync(getOrInitPlayer(config, key, null, mediaUri), callback);
+    }
+
+    @Override
+    public final void getOrInitAdSupportedPlayerAsync(@NonNull Config config,
+                                                      @NonNull String key,
+                                                      @NonNull PlayerView playerView,
+                                                      @NonNull PlayerCallback callback) {
         Preconditions.nonNull(config);
         Preconditions.nonEmpty(key);
+        Preconditions.nonNull(playerView);
+        Preconditions.nonNull(callback);
+
+        initPlayerAsync(getOrInitPlayer(config, key, playerView, null), callback);
+    }
+
+    private void initPlayerAsync(Player player, PlayerCallback callback) {
+        player.initAsync(getPlayerInitHandler(), () -> callback.onPlayerReady(player));
+    }
+
+    /**
+     * Lazily creates the {@link Handler} of the dedicated thread the underlying players get constructed on.
+     * (Can be called from any thread, as well as while holding the acquisition lock)
+     */
+    private Handler getPlayerInitHandler() {
+        if (mPlayerInitHandler != null) {
+            return mPlayerInitHandler;
+        }
+
+        synchronized (this) {
+            if (mPlayerInitHandler == null) {
+                final HandlerThread playerInitThread = new HandlerThread("ArviPlayerInit");
+                playerInitThread.start();
+
+                mPlayerInitHandler = new Handler(playerInitThread.getLooper());
+            }
+
+            return mPlayerInitHandler;
+        }
+    }
+
+    /**
+     * Looks for a key-bound regular {@link PlayerNode} whose (inactive) {@link Player} is prepared with the specified media.
+     */
+    @Nullable
+    private PlayerNode findPlayerNodeForMedia(PlayerNodePool playerNodePool, Uri mediaUri) {
+        Player player;
+        MediaItem mediaItem;
+
+        for (PlayerNode playerNode : playerNodePool.getPlayerNodes()) {
+            player = playerNode.getPlayer();
+
+            // (the playing ones are left alone, so that the visible items with the same media do not take the Player from each other)
+            if (!playerNode.isKeySet()
+                || !playerNode.isOfType(PlayerNode.DEFAULT_TYPE)
+                || (player == null)
+                || !player.isInitialized()
+                || player.isPlaying()
+                || (player.getPlaybackState() == Player.PlaybackState.IDLE)) {
+                continue;
+            }
+
+            mediaItem = player.getMediaItem();
+
+            if ((mediaItem != null) && (mediaItem.localConfiguration != null) && mediaUri.equals(mediaItem.localConfiguration.uri)) {
+                return playerNode;
+            }
+        }
+
+        return null;
+    }
+
+    @Override
+    public final void prewarm(int count) {
+        prewarm(DEFAULT_CONFIG, count);
+    }
+
+    @Override
+    public final void prewarm(@NonNull Config config, int count) {
+        Preconditions.nonNull(config);
+        Preconditions.isTrue("You must specify a valid Player Count.", (count >= 0));
+
+        if (count == 0) {
+            return;
+        }
 
         final Pair<PlayerCreator, PlayerNodePool> pair = getOrInit(config);
-        final PlayerCreator playerCreator = pair.first;
-        final PlayerNodePool playerNodePool = pair.second;
-
-        PlayerNode playerNode = playerNodePool.get(key);
-
-        if (playerNode == null) {
-            // checking to see if there's a free (detached) PlayerNode to be reused
-            final PlayerNode freePlayerNode = playerNodePool.acquireFree(key);
-
-            // in case of the absence of the free (detached) PlayerNode
-            if (freePlayerNode == null) {
-                // If the pool is full, we need to pick the PlayerNode
-                // that is considered "the oldest" in terms of the last access time,
-                // otherwise we can create a brand-new instance of the PlayerNode and add it to the pool
-                if (playerNodePool.isFull()) {
-                    playerNode = playerNodePool.acquireOldest(key);
-                } else {
-                    // creating a brand-new PlayerNode instance
-                    playerNode = new PlayerNode(playerCreator.createAdSupportedPlayer(playerView)).setKey(key);
 
-                    // adding it to the general pool
-                    playerNodePool.add(playerNode);
+        // the Players are created on the main thread, as that's the thread they are going to be used on,
+        // so the creation is spread across the main thread idle periods (while the underlying players get built off of it)
+        mMainHandler.post(() -> Looper.myQueue().addIdleHandler(new PrewarmingIdleHandler(config, pair.first, pair.second, count)));
+    }
+
+    /**
+     * Makes room for a brand-new {@link Player} within the provider-wide Player limit (if necessary).
+     * The free {@link PlayerNode}s (across all the Player Pools) are given up first, as there's no playback to interrupt,
+     * followed by the least recently used inactive key-bound one (and, as the last resort, by the least recently used one).
+     *
+     * @param targetPool the pool the new Player is going to be added to
+     * @return <strong>true</strong> if a new Player can be created, <strong>false</strong> if the PlayerNode to be given up
+     * belongs to the target pool (and is to be reused instead)
+     */
+    private boolean reclaimPlayerBudget(PlayerNodePool targetPool) {
+        if (getPlayerCount() < mMaxPlayerCount) {
+            return true;
+        }
+
+        PlayerNode freeNode;
+
+        for (PlayerNodePool playerNodePool : mCreatorNodePoolMap.values()) {
+            // (the free nodes of the target pool, if any, are of a different type, as they'd be reused otherwise)
+            if ((freeNode = playerNodePool.getFree()) != null) {
+                playerNodePool.release(freeNode);
+                return true;
+            }
+        }
+
+        PlayerNodePool oldestPool = null;
+        PlayerNode oldestNode = null;
+        PlayerNodePool oldestInactivePool = null;
+        PlayerNode oldestInactiveNode = null;
+        Player player;
+
+        for (PlayerNodePool playerNodePool : mCreatorNodePoolMap.values()) {
+            for (PlayerNode playerNode : playerNodePool.getPlayerNodes()) {
+                if ((oldestNode == null) || (playerNode.compareTo(oldestNode) < 0)) {
+                    oldestPool = playerNodePool;
+                    oldestNode = playerNode;
+                }
+
+                player = playerNode.getPlayer();
+
+                if (((player == null) || !player.isPlaying())
+                    && ((oldestInactiveNode == null) || (playerNode.compareTo(oldestInactiveNode) < 0))) {
+                    oldestInactivePool = playerNodePool;
+                    oldestInactiveNode = playerNode;
                 }
-            } else {
-                // using the available "Free" (Detached) PlayerNode
-                playerNode = freePlayerNode;
             }
         }
 
-        return playerNode.getPlayer();
+        if (oldestInactiveNode != null) {
+            oldestPool = oldestInactivePool;
+            oldestNode = oldestInactiveNode;
+        }
+
+        // (at this point there's at least one PlayerNode, as the limit is always positive)
+        if (oldestPool == targetPool) {
+            return false;
+        }
+
+        // stealing the budget from the other pool (while keeping the playback position of the evicted item)
+        savePlaybackPosition(oldestNode);
+        oldestPool.release(oldestNode);
+
+        return true;
     }
 
     private Pair<PlayerCreator, PlayerNodePool> getOrInit(Config config) {
         final PlayerCreator creator = getOrInitCreator(config);
-        final PlayerNodePool nodePool = getOrInitNodePool(creator);
+        final PlayerNodePool nodePool = getOrInitNodePool(config, creator);
 
         return new Pair<>(creator, nodePool);
     }
@@ -238,21 +588,30 @@ public final class PlayerProviderImpl implements PlayerProvider {
         PlayerCreator creator = mConfigCreatorMap.get(config);
 
         if (creator == null) {
+            lockDownPlugins();
+
             creator = ArviPlugins.getPlayerCreatorFactory().create(this, config);
 
-            mConfigCreatorMap.put(config, creator);
+            // another thread might have created the creator in the meantime
+            final PlayerCreator existingCreator = mConfigCreatorMap.putIfAbsent(config, creator);
+            creator = ((existingCreator != null) ? existingCreator : creator);
         }
 
         return creator;
     }
 
-    private PlayerNodePool getOrInitNodePool(PlayerCreator creator) {
+    private PlayerNodePool getOrInitNodePool(Config config, PlayerCreator creator) {
         PlayerNodePool nodePool = mCreatorNodePoolMap.get(creator);
 
         if (nodePool == null) {
-            nodePool = ArviPlugins.getPlayerNodePoolFactory().create();
+            final PlayerNodePoolFactory nodePoolFactory = ArviPlugins.getPlayerNodePoolFactory();
 
-            mCreatorNodePoolMap.put(creator, nodePool);
+            // the Config-specific pool policy (if there's any) takes precedence over the one of the factory
+            nodePool = (config.hasPoolPolicy() ? nodePoolFactory.create(config.poolPolicy) : nodePoolFactory.create());
+
+            // another thread might have created the pool in the meantime
+            final PlayerNodePool existingNodePool = mCreatorNodePoolMap.putIfAbsent(creator, nodePool);
+            nodePool = ((existingNodePool != null) ? existingNodePool : nodePool);
         }
 
         return nodePool;
@@ -268,6 +627,12 @@ public final class PlayerProviderImpl implements PlayerProvider {
         return ((creator != null) ? mCreatorNodePoolMap.remove(creator) : null);
     }
 
+    @NonNull
+    @Override
+    public final PoolStats getPoolStats() {
+        return mStatsRecorder.snapshot();
+    }
+
     @Override
     public final boolean hasPlayer(@NonNull String key) {
         return hasPlayer(DEFAULT_CONFIG, key);
@@ -299,6 +664,23 @@ public final class PlayerProviderImpl implements PlayerProvider {
         }
     }
 
+    @Override
+    public final void unregister(@NonNull Config config, @NonNull Collection<String> keys) {
+        Preconditions.nonNull(config);
+        Preconditions.nonNull(keys);
+
+        final PlayerNodePool correspondingPool = getPoolForConfig(config);
+
+        if (correspondingPool == null) {
+            return;
+        }
+
+        for (String key : keys) {
+            Preconditions.nonEmpty(key);
+            correspondingPool.unregister(key);
+        }
+    }
+
     @Override
     public final void release(@NonNull String key) {
         release(DEFAULT_CONFIG, key);
@@ -329,6 +711,23 @@ public final class PlayerProviderImpl implements PlayerProvider {
         }
     }
 
+    @Override
+    public final void release(@NonNull Config config, @NonNull Collection<String> keys) {
+        Preconditions.nonNull(config);
+        Preconditions.nonNull(keys);
+
+        final PlayerNodePool correspondingPool = getPoolForConfig(config);
+
+        if (correspondingPool == null) {
+            return;
+        }
+
+        for (String key : keys) {
+            Preconditions.nonEmpty(key);
+            correspondingPool.release(key);
+        }
+    }
+
     @Override
     public final void release() {
         for (PlayerNodePool playerNodePool : mCreatorNodePoolMap.values()) {
@@ -339,5 +738,440 @@ public final class PlayerProviderImpl implements PlayerProvider {
         mCreatorNodePoolMap.clear();
     }
 
+    @Override
+    public final void pause(@NonNull Config config, @NonNull Collection<String> keys) {
+        Preconditions.nonNull(config);
+        Preconditions.nonNull(keys);
+
+        final PlayerNodePool correspondingPool = getPoolForConfig(config);
+
+        if (correspondingPool == null) {
+            return;
+        }
+
+        PlayerNode playerNode;
+
+        for (String key : keys) {
+            Preconditions.nonEmpty(key);
+            playerNode = correspondingPool.get(key);
+
+            if (playerNode != null) {
+                pausePlayer(playerNode);
+            }
+        }
+    }
+
+    @Override
+    public final void pauseAll(@NonNull Config config) {
+        Preconditions.nonNull(config);
+
+        final PlayerNodePool correspondingPool = getPoolForConfig(config);
+
+        if (correspondingPool == null) {
+            return;
+        }
+
+        for (PlayerNode playerNode : correspondingPool.getPlayerNodes()) {
+            pausePlayer(playerNode);
+        }
+    }
+
+    @NonNull
+    @Override
+    public final Map<String, Long> snapshotPositions(@NonNull Config config) {
+        Preconditions.nonNull(config);
+
+        final Map<String, Long> positions = new HashMap<>();
+        final PlayerNodePool correspondingPool = getPoolForConfig(config);
+
+        if (correspondingPool == null) {
+            return positions;
+        }
+
+        Player player;
+
+        for (PlayerNode playerNode : correspondingPool.getPlayerNodes()) {
+            player = playerNode.getPlayer();
+
+            if (playerNode.isKeySet() && (player != null) && player.isInitialized()) {
+                savePlaybackPosition(playerNode);
+                positions.put(playerNode.getKey(), player.getPlaybackPosition());
+            }
+        }
+
+        return positions;
+    }
+
+    @Override
+    public final void onTrimMemory(int level) {
+        // (the TRIM_MEMORY_RUNNING_* levels are lower than the TRIM_MEMORY_UI_HIDDEN one,
+        // so they are handled as a range of their own rather than by a mere lower bound)
+        if (level >= ComponentCallbacks2.TRIM_MEMORY_BACKGROUND) {
+            releaseAllButMostRecentPlayer();
+            // the memory is more important than the smoothness at this point
+            PlayerReleaseQueue.getInstance().drain();
+        } else if (level >= ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN) {
+            // the UI getting hidden is not a sign of the memory pressure on its own
+            // (the background suspension takes care of the rest), so only the excess free Players are given up
+            releaseExcessFreePlayers();
+        } else if (level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_CRITICAL) {
+            for (PlayerNodePool playerNodePool : mCreatorNodePoolMap.values()) {
+                playerNodePool.releaseFree(0);
+                stopInactivePlayers(playerNodePool);
+            }
+
+            // the memory is more important than the smoothness at this point
+            PlayerReleaseQueue.getInstance().drain();
+        } else if (level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_MODERATE) {
+            releaseExcessFreePlayers();
+        }
+    }
+
+    private void releaseExcessFreePlayers() {
+        for (PlayerNodePool playerNodePool : mCreatorNodePoolMap.values()) {
+            playerNodePool.releaseFree(playerNodePool.getPolicy().minIdleCount);
+        }
+    }
+
+    private void releaseAllButMostRecentPlayer() {
+        PlayerNode mostRecentNode = null;
+        List<PlayerNode> playerNodes;
+        PlayerNode playerNode;
+
+        // looking for the most recently used PlayerNode across all the pools
+        for (PlayerNodePool playerNodePool : mCreatorNodePoolMap.values()) {
+            playerNodes = playerNodePool.getPlayerNodes();
+
+            if (playerNodes.isEmpty()) {
+                continue;
+            }
+
+            playerNode = playerNodes.get(playerNodes.size() - 1);
+
+            if ((mostRecentNode == null) || (playerNode.compareTo(mostRecentNode) > 0)) {
+                mostRecentNode = playerNode;
+            }
+        }
+
+        // (the kept PlayerNode is left intact, so that the most recent item resumes seamlessly)
+        for (PlayerNodePool playerNodePool : mCreatorNodePoolMap.values()) {
+            for (PlayerNode node : playerNodePool.getPlayerNodes()) {
+                if (node != mostRecentNode) {
+                    savePlaybackPosition(node);
+                    playerNodePool.release(node);
+                }
+            }
+        }
+    }
+
+    private void onSuspensionCheck() {
+        // the activity transitions (and the configuration changes) do not mean the application went to the background
+        final ActivityManager.RunningAppProcessInfo processInfo = new ActivityManager.RunningAppProcessInfo();
+        ActivityManager.getMyMemoryState(processInfo);
+
+        if (processInfo.importance > ActivityManager.RunningAppProcessInfo.IMPORTANCE_VISIBLE) {
+            suspend();
+        }
+    }
+
+    /**
+     * Releases all the {@link Player}s, while keeping a snapshot of the key-bound regular ones
+     * (their keys, media items and playback positions), so that they can be restored later on.
+     */
+    private void suspend() {
+        synchronized (mAcquisitionLock) {
+            if (mIsSuspended) {
+                return;
+            }
+
+            mIsSuspended = true;
+            mSuspendedPlayers.clear();
+
+            PlayerNodePool playerNodePool;
+            Player player;
+
+            for (Map.Entry<Config, PlayerCreator> entry : mConfigCreatorMap.entrySet()) {
+                playerNodePool = mCreatorNodePoolMap.get(entry.getValue());
+
+                if (playerNodePool == null) {
+                    continue;
+                }
+
+                // (the nodes are ordered from the least to the most recently used one)
+                for (PlayerNode playerNode : playerNodePool.getPlayerNodes()) {
+                    player = playerNode.getPlayer();
+
+                    // the Ad Supported Players are bound to their PlayerViews, so they are not worth restoring
+                    if (playerNode.isKeySet()
+                        && playerNode.isOfType(PlayerNode.DEFAULT_TYPE)
+                        && (player != null)
+                        && player.isInitialized()
+                        && (player.getMediaItem() != null)) {
+                        savePlaybackPosition(playerNode);
+                        mSuspendedPlayers.add(new SuspendedPlayer(
+                            entry.getKey(),
+                            playerNode.getKey(),
+                            player.getMediaItem(),
+                            player.getPlaybackPosition()
+                        ));
+                    }
+                }
+
+                playerNodePool.release();
+            }
+        }
+
+        // there's no smoothness to preserve in the background
+        PlayerReleaseQueue.getInstance().drain();
+
+        // the process is likely to be killed while in the background, so the saved positions are persisted right away
+        PlaybackInfoCache.getInstance().flush();
+    }
+
+    /**
+     * Schedules the lazy restoration of the suspended {@link Player}s (starting with the most recently used ones).
+     * (The visible items acquire their Players on their own, so they get theirs first)
+     */
+    private void resume() {
+        synchronized (mAcquisitionLock) {
+            if (!mIsSuspended) {
+                return;
+            }
+
+            mIsSuspended = false;
+
+            if (mSuspendedPlayers.isEmpty()) {
+                return;
+            }
+        }
+
+        mMainHandler.post(() -> Looper.myQueue().addIdleHandler(new RestoringIdleHandler()));
+    }
+
+    private void stopInactivePlayers(PlayerNodePool playerNodePool) {
+        Player player;
+
+        for (PlayerNode playerNode : playerNodePool.getPlayerNodes()) {
+            player = playerNode.getPlayer();
+
+            if ((player != null) && player.isInitialized() && !player.isPlaying()) {
+                savePlaybackPosition(playerNode);
+                player.stop(false);
+            }
+        }
+    }
+
+    private void pausePlayer(PlayerNode playerNode) {
+        final Player player = playerNode.getPlayer();
+
+        // the positions of the Players that aren't playing are left intact (e.g. the ones that have been stopped or seeked)
+        if ((player == null) || !player.isPlaying()) {
+            return;
+        }
+
+        player.pause();
+        savePlaybackPosition(playerNode);
+    }
+
+    private void savePlaybackPosition(PlayerNode playerNode) {
+        final Player player = playerNode.getPlayer();
+
+        if (!playerNode.isKeySet() || (player == null) || !player.isInitialized()) {
+            return;
+        }
+
+        if (player.getPlaybackState() == Player.PlaybackState.IDLE) {
+            return;
+        }
+
+        // the PlaybackInfo is created by the Playable upon the start of the playback,
+        // so it's only updated here (if there's any)
+        final long playbackPosition = player.getPlaybackPosition();
+
+        PlaybackInfoCache.getInstance().computeIfPresent(
+            playerNode.getKey(),
+            (key, playbackInfo) -> playbackInfo.setPlaybackPosition(playbackPosition)
+        );
+    }
+
+    private int getPlayerCount() {
+        int playerCount = 0;
+
+        for (PlayerNodePool playerNodePool : mCreatorNodePoolMap.values()) {
+            playerCount += playerNodePool.getPlayerCount();
+        }
+
+        return playerCount;
+    }
+
+    /**
+     * A snapshot of the key-bound {@link Player} released upon the suspension.
+     */
+    private static final class SuspendedPlayer {
+
+        private final Config config;
+        private final String key;
+        private final MediaItem mediaItem;
+        private final long playbackPosition;
+
+        SuspendedPlayer(Config config, String key, MediaItem mediaItem, long playbackPosition) {
+            this.config = config;
+            this.key = key;
+            this.mediaItem = mediaItem;
+            this.playbackPosition = playbackPosition;
+        }
+
+    }
+
+    /**
+     * An {@link MessageQueue.IdleHandler} used to restore a single suspended {@link Player} per main thread idle period.
+     * (The restored Players get prepared with their media, so that the items they are bound to start warm)
+     */
+    private final class RestoringIdleHandler implements MessageQueue.IdleHandler {
+
+        @Override
+        public final boolean queueIdle() {
+            final SuspendedPlayer suspendedPlayer;
+            final Player player;
+            final boolean hasMore;
+
+            synchronized (mAcquisitionLock) {
+                // the provider might have been suspended again in the meantime
+                if (mIsSuspended || mSuspendedPlayers.isEmpty()) {
+                    return false;
+                }
+
+                suspendedPlayer = mSuspendedPlayers.remove(mSuspendedPlayers.size() - 1);
+
+                final Pair<PlayerCreator, PlayerNodePool> pair = getOrInit(suspendedPlayer.config);
+                final PlayerNodePool playerNodePool = pair.second;
+
+                // the restored Players should never take the budget of the ones requested by the visible items
+                if (playerNodePool.isFull() || (getPlayerCount() >= mMaxPlayerCount)) {
+                    mSuspendedPlayers.clear();
+                    return false;
+                }
+
+                hasMore = !mSuspendedPlayers.isEmpty();
+
+                // the visible item might have already acquired its Player
+                if (playerNodePool.contains(suspendedPlayer.key)) {
+                    return hasMore;
+                }
+
+                installCookieManager();
+                player = pair.first.createPlayer();
+                playerNodePool.add(new PlayerNode(player).setKey(suspendedPlayer.key));
+            }
+
+            player.initAsync(getPlayerInitHandler(), () -> {
+                // (the bound item finds the same media already prepared, so it doesn't rebuild the media pipeline)
+                player.setMediaItem(suspendedPlayer.mediaItem);
+                player.prepare(false);
+                player.seek(suspendedPlayer.playbackPosition);
+            });
+
+            return hasMore;
+        }
+
+    }
+
+    /**
+     * An {@link Application.ActivityLifecycleCallbacks} used to suspend the provider once the application goes to the background,
+     * and to resume it once the application is back in the foreground.
+     */
+    private final class ProcessLifecycleObserver implements Application.ActivityLifecycleCallbacks {
+
+        // (the same delay as the one used by the androidx ProcessLifecycleOwner, to let the activity transitions settle)
+        private static final long SUSPENSION_DELAY = 700L;
+
+        @Override
+        public final void onActivityStarted(@NonNull Activity activity) {
+            mMainHandler.removeCallbacks(mSuspensionTask);
+            resume();
+        }
+
+        @Override
+        public final void onActivityStopped(@NonNull Activity activity) {
+            if (!activity.isChangingConfigurations()) {
+                mMainHandler.removeCallbacks(mSuspensionTask);
+                mMainHandler.postDelayed(mSuspensionTask, SUSPENSION_DELAY);
+            }
+        }
+
+        @Override
+        public final void onActivityCreated(@NonNull Activity activity, @Nullable Bundle savedInstanceState) {
+            // do nothing.
+        }
+
+        @Override
+        public final void onActivityResumed(@NonNull Activity activity) {
+            // do nothing.
+        }
+
+        @Override
+        public final void onActivityPaused(@NonNull Activity activity) {
+            // do nothing.
+        }
+
+        @Override
+        public final void onActivitySaveInstanceState(@NonNull Activity activity, @NonNull Bundle outState) {
+            // do nothing.
+        }
+
+        @Override
+        public final void onActivityDestroyed(@NonNull Activity activity) {
+            // do nothing.
+        }
+
+    }
+
+    /**
+     * An {@link MessageQueue.IdleHandler} used to create a single free {@link Player} per main thread idle period,
+     * and to initialize it asynchronously.
+     */
+    private final class PrewarmingIdleHandler implements MessageQueue.IdleHandler {
+
+        private final Config config;
+        private final PlayerCreator playerCreator;
+        private final PlayerNodePool playerNodePool;
+
+        private int remainingCount;
+
+        PrewarmingIdleHandler(Config config, PlayerCreator playerCreator, PlayerNodePool playerNodePool, int count) {
+            this.config = config;
+            this.playerCreator = playerCreator;
+            this.playerNodePool = playerNodePool;
+            this.remainingCount = count;
+        }
+
+        @Override
+        public final boolean queueIdle() {
+            final Player player;
+
+            synchronized (mAcquisitionLock) {
+                // the pool might have been released (or filled up) in the meantime,
+                // and the pre-warmed Players should never take the budget of the other pools
+                if ((getPoolForConfig(this.config) != this.playerNodePool)
+                    || this.playerNodePool.isFull()
+                    || (getPlayerCount() >= mMaxPlayerCount)) {
+                    return false;
+                }
+
+                installCookieManager();
+                player = this.playerCreator.createPlayer();
+
+                // adding the key-less (free) PlayerNode to the pool right away, so that it counts towards the limits
+                // (the initialization gets discarded if the node is released in the meantime)
+                this.playerNodePool.add(new PlayerNode(player));
+            }
+
+            player.initAsync(getPlayerInitHandler(), NO_OP_CALLBACK);
+
+            return (--this.remainingCount > 0);
+        }
+
+    }
+
 }
 
@@ -18,7 +18,12 @@ package com.example.videoplayerusingmedia3.demo
 
 import android.app.Application
 import androidx.multidex.MultiDexApplication
+import com.example.videoplayerusingmedia3.AdaptivePlayerNodePoolFactory
+import com.example.videoplayerusingmedia3.ArviPlugins
 import com.example.videoplayerusingmedia3.PlayerProviderImpl
+import com.example.videoplayerusingmedia3.util.cache.PlaybackInfoCache
+import com.example.videoplayerusingmedia3.util.cache.PlaybackInfoCachePolicy
+import java.io.File
 
 class ArviApplication : MultiDexApplication() {
 
@@ -34,14 +39,25 @@ class ArviApplication : MultiDexApplication() {
         super.onCreate()
 
         INSTANCE = this
+
+        // sizing the player pools according to the device class (resolved lazily, upon the first pool creation)
+        ArviPlugins.setPlayerNodePoolFactory(AdaptivePlayerNodePoolFactory(this))
+
+        // releasing the players while in the background (they get restored once the app is back in the foreground)
+        ArviPlugins.setBackgroundSuspensionEnabled(true)
+
+        // persisting the playback positions, so that the videos are resumed after the process death
+        PlaybackInfoCache.setPolicy(
+            PlaybackInfoCachePolicy.Builder()
+                .persistenceFile(File(filesDir, "playback_info.bin"))
+                .build()
+        )
     }
 
     override fun onTrimMemory(level: Int) {
         super.onTrimMemory(level)
 
-        if (level >= TRIM_MEMORY_BACKGROUND) {
-            PlayerProviderImpl.getInstance(this).release()
-        }
+        PlayerProviderImpl.getInstance(this).onTrimMemory(level)
     }
 
 }
@@ -20,6 +20,8 @@ package com.example.videoplayerusingmedia3.player;
 import static com.example.videoplayerusingmedia3.util.misc.Preconditions.checkNonNull;
 
 import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
@@ -36,11 +38,12 @@ import androidx.media3.exoplayer.trackselection.TrackSelector;
 import androidx.media3.exoplayer.upstream.BandwidthMeter;
 import androidx.media3.ui.PlayerView;
 
+import com.example.videoplayerusingmedia3.player.util.AsyncPlayerInitializer;
 import com.example.videoplayerusingmedia3.player.util.DefaultVolumeController;
 import com.example.videoplayerusingmedia3.player.util.PlayerEventListenerRegistry;
 import com.example.videoplayerusingmedia3.player.util.VolumeController;
 import com.example.videoplayerusingmedia3.util.misc.Preconditions;
-
+import com.example.videoplayerusingmedia3.util.stats.PoolStatsRecorder;
 
 /**
  * A default implementation of the {@link Player} which has the most essential player-related
@@ -56,6 +59,7 @@ public class AdSupportedPlayer implements Player {
     private final TrackSelector trackSelector;
     private final LoadControl loadControl;
     private final BandwidthMeter bandwidthMeter;
+    private final Looper playbackLooper;
     private final DefaultMediaSourceFactory mediaSourceFactory;
     private MediaItem mediaItem;
 
@@ -67,6 +71,8 @@ public class AdSupportedPlayer implements Player {
 
     private AttachmentStateDelegate attachmentStateDelegate;
 
+    private final AsyncPlayerInitializer initializer;
+
     public AdSupportedPlayer(@NonNull Context context,
                              @NonNull RenderersFactory renderersFactory,
                              @NonNull TrackSelector trackSelector,
@@ -74,6 +80,20 @@ public class AdSupportedPlayer implements Player {
                              @NonNull DefaultMediaSourceFactory mediaSourceFactory,
                              @NonNull PlayerView playerView,
                              @Nullable BandwidthMeter bandwidthMeter) {
+        this(context, renderersFactory, trackSelector, loadControl, mediaSourceFactory, playerView, bandwidthMeter, null);
+    }
+
+    /**
+     * @param playbackLooper the Looper of the shared playback thread, or <strong>null</strong> for the player to spawn its own one
+     */
+    public AdSupportedPlayer(@NonNull Context context,
+                             @NonNull RenderersFactory renderersFactory,
+                             @NonNull TrackSelector trackSelector,
+                             @NonNull LoadControl loadControl,
+                             @NonNull DefaultMediaSourceFactory mediaSourceFactory,
+                             @NonNull PlayerView playerView,
+                             @Nullable BandwidthMeter bandwidthMeter,
+                             @Nullable Looper playbackLooper) {
 
         this.context = checkNonNull(context).getApplicationContext();
         this.eventHandler = new PlayerEventListenerRegistry();
@@ -83,6 +103,8 @@ public class AdSupportedPlayer implements Player {
         this.mediaSourceFactory = checkNonNull(mediaSourceFactory);
         this.bandwidthMeter = bandwidthMeter;
         this.playerView = playerView;
+        this.playbackLooper = playbackLooper;
+        this.initializer = new AsyncPlayerInitializer(this, this::setExoPlayer);
     }
 
     @OptIn(markerClass = UnstableApi.class)
@@ -95,22 +117,60 @@ public class AdSupportedPlayer implements Player {
         return adsLoader;
     }
 
-    @OptIn(markerClass = UnstableApi.class) @Override
+    @Override
     public final void init() {
         if (isInitialized()) {
             return;
         }
 
-        DefaultMediaSourceFactory mediaSourceFactory = this.mediaSourceFactory
-                        .setLocalAdInsertionComponents(adsConfiguration -> getAdsLoader(), playerView);
+        final long startTime = System.nanoTime();
+
+        setExoPlayer(buildExoPlayer(getAdSupportedMediaSourceFactory(), null));
+
+        PoolStatsRecorder.getInstance().recordInitLatency(System.nanoTime() - startTime);
+    }
+
+    @Override
+    public final void initAsync(@NonNull Handler workerHandler, @NonNull Runnable callback) {
+        Preconditions.nonNull(workerHandler);
+        Preconditions.nonNull(callback);
+
+        // the Media Source Factory is shared across the Players, so it's only touched on the main thread
+        final DefaultMediaSourceFactory mediaSourceFactory = getAdSupportedMediaSourceFactory();
 
-        this.exoPlayer = new ExoPlayer.Builder(this.context, this.renderersFactory)
+        this.initializer.initAsync(
+            workerHandler,
+            callback,
+            applicationLooper -> buildExoPlayer(mediaSourceFactory, applicationLooper)
+        );
+    }
+
+    @OptIn(markerClass = UnstableApi.class)
+    private DefaultMediaSourceFactory getAdSupportedMediaSourceFactory() {
+        return this.mediaSourceFactory.setLocalAdInsertionComponents(adsConfiguration -> getAdsLoader(), playerView);
+    }
+
+    @OptIn(markerClass = UnstableApi.class)
+    private ExoPlayer buildExoPlayer(DefaultMediaSourceFactory mediaSourceFactory, @Nullable Looper applicationLooper) {
+        final ExoPlayer.Builder builder = new ExoPlayer.Builder(this.context, this.renderersFactory)
                 .setMediaSourceFactory(mediaSourceFactory)
                 .setTrackSelector(this.trackSelector)
                 .setLoadControl(this.loadControl)
-                .setBandwidthMeter(this.bandwidthMeter)
-                .build();
+                .setBandwidthMeter(this.bandwidthMeter);
+
+        if (applicationLooper != null) {
+            builder.setLooper(applicationLooper);
+        }
+
+        if (this.playbackLooper != null) {
+            builder.setPlaybackLooper(this.playbackLooper);
+        }
+
+        return builder.build();
+    }
 
+    private void setExoPlayer(ExoPlayer exoPlayer) {
+        this.exoPlayer = exoPlayer;
         this.exoPlayer.addListener(this.eventHandler);
         this.volumeController = new DefaultVolumeController(this.exoPlayer);
     }
@@ -164,6 +224,9 @@ public class AdSupportedPlayer implements Player {
 
     @Override
     public final void release() {
+        // discarding the asynchronous initialization that might be in progress
+        this.initializer.cancel();
+
         if (!isInitialized()) {
             return;
         }
@@ -292,6 +355,11 @@ public class AdSupportedPlayer implements Player {
         return (this.exoPlayer != null);
     }
 
+    @Override
+    public final boolean isInitializing() {
+        return this.initializer.isInProgress();
+    }
+
     @Override
     public final boolean isPlaying() {
         final int playbackState = getPlaybackState();
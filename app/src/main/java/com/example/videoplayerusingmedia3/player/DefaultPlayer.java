@@ -20,6 +20,8 @@ package com.example.videoplayerusingmedia3.player;
 import static com.example.videoplayerusingmedia3.util.misc.Preconditions.checkNonNull;
 
 import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
@@ -36,11 +38,12 @@ import androidx.media3.exoplayer.trackselection.TrackSelector;
 import androidx.media3.exoplayer.upstream.BandwidthMeter;
 import androidx.media3.ui.PlayerView;
 
+import com.example.videoplayerusingmedia3.player.util.AsyncPlayerInitializer;
 import com.example.videoplayerusingmedia3.player.util.DefaultVolumeController;
 import com.example.videoplayerusingmedia3.player.util.PlayerEventListenerRegistry;
 import com.example.videoplayerusingmedia3.player.util.VolumeController;
 import com.example.videoplayerusingmedia3.util.misc.Preconditions;
-
+import com.example.videoplayerusingmedia3.util.stats.PoolStatsRecorder;
 
 /**
  * A default implementation of the {@link Player} which has the most essential player-related
@@ -57,6 +60,7 @@ public class DefaultPlayer implements Player {
     private final LoadControl loadControl;
     private final DefaultMediaSourceFactory mediaSourceFactory;
     private final BandwidthMeter bandwidthMeter;
+    private final Looper playbackLooper;
     private MediaItem mediaItem;
 
     private ExoPlayer exoPlayer;
@@ -64,6 +68,8 @@ public class DefaultPlayer implements Player {
 
     private AttachmentStateDelegate attachmentStateDelegate;
 
+    private final AsyncPlayerInitializer initializer;
+
 
     public DefaultPlayer(@NonNull Context context,
                          @NonNull RenderersFactory renderersFactory,
@@ -71,6 +77,19 @@ public class DefaultPlayer implements Player {
                          @NonNull LoadControl loadControl,
                          @NonNull DefaultMediaSourceFactory mediaSourceFactory,
                          @Nullable BandwidthMeter bandwidthMeter) {
+        this(context, renderersFactory, trackSelector, loadControl, mediaSourceFactory, bandwidthMeter, null);
+    }
+
+    /**
+     * @param playbackLooper the Looper of the shared playback thread, or <strong>null</strong> for the player to spawn its own one
+     */
+    public DefaultPlayer(@NonNull Context context,
+                         @NonNull RenderersFactory renderersFactory,
+                         @NonNull TrackSelector trackSelector,
+                         @NonNull LoadControl loadControl,
+                         @NonNull DefaultMediaSourceFactory mediaSourceFactory,
+                         @Nullable BandwidthMeter bandwidthMeter,
+                         @Nullable Looper playbackLooper) {
 
         this.context = checkNonNull(context).getApplicationContext();
         this.eventHandler = new PlayerEventListenerRegistry();
@@ -79,21 +98,52 @@ public class DefaultPlayer implements Player {
         this.loadControl = checkNonNull(loadControl);
         this.mediaSourceFactory = checkNonNull(mediaSourceFactory);
         this.bandwidthMeter = bandwidthMeter;
+        this.playbackLooper = playbackLooper;
+        this.initializer = new AsyncPlayerInitializer(this, this::setExoPlayer);
     }
 
-    @OptIn(markerClass = UnstableApi.class) @Override
+    @Override
     public final void init() {
         if (isInitialized()) {
             return;
         }
 
-        this.exoPlayer = new ExoPlayer.Builder(this.context, this.renderersFactory)
+        final long startTime = System.nanoTime();
+
+        setExoPlayer(buildExoPlayer(null));
+
+        PoolStatsRecorder.getInstance().recordInitLatency(System.nanoTime() - startTime);
+    }
+
+    @Override
+    public final void initAsync(@NonNull Handler workerHandler, @NonNull Runnable callback) {
+        Preconditions.nonNull(workerHandler);
+        Preconditions.nonNull(callback);
+
+        this.initializer.initAsync(workerHandler, callback, this::buildExoPlayer);
+    }
+
+    @OptIn(markerClass = UnstableApi.class)
+    private ExoPlayer buildExoPlayer(@Nullable Looper applicationLooper) {
+        final ExoPlayer.Builder builder = new ExoPlayer.Builder(this.context, this.renderersFactory)
                 .setMediaSourceFactory(mediaSourceFactory)
                 .setTrackSelector(this.trackSelector)
                 .setLoadControl(this.loadControl)
-                .setBandwidthMeter(this.bandwidthMeter)
-                .build();
+                .setBandwidthMeter(this.bandwidthMeter);
+
+        if (applicationLooper != null) {
+            builder.setLooper(applicationLooper);
+        }
+
+        if (this.playbackLooper != null) {
+            builder.setPlaybackLooper(this.playbackLooper);
+        }
+
+        return builder.build();
+    }
 
+    private void setExoPlayer(ExoPlayer exoPlayer) {
+        this.exoPlayer = exoPlayer;
         this.exoPlayer.addListener(this.eventHandler);
         this.volumeController = new DefaultVolumeController(this.exoPlayer);
     }
@@ -103,6 +153,14 @@ public class DefaultPlayer implements Player {
         checkPlayerState();
         checkMediaItem();
 
+        // the same media might already be prepared (e.g. when the Player got handed over between the keys bound to the same media),
+        // in which case there's no need to tear down and rebuild the media pipeline
+        if (!resetPosition
+            && (this.exoPlayer.getPlaybackState() != PlaybackState.IDLE)
+            && this.mediaItem.equals(this.exoPlayer.getCurrentMediaItem())) {
+            return;
+        }
+
         this.exoPlayer.setMediaItem(this.mediaItem, resetPosition);
         this.exoPlayer.prepare();
     }
@@ -147,6 +205,9 @@ public class DefaultPlayer implements Player {
 
     @Override
     public final void release() {
+        // discarding the asynchronous initialization that might be in progress
+        this.initializer.cancel();
+
         if (!isInitialized()) {
             return;
         }
@@ -273,6 +334,11 @@ public class DefaultPlayer implements Player {
         return (this.exoPlayer != null);
     }
 
+    @Override
+    public final boolean isInitializing() {
+        return this.initializer.isInProgress();
+    }
+
     @Override
     public final boolean isPlaying() {
         final int playbackState = getPlaybackState();
@@ -1,5 +1,6 @@
 package com.example.videoplayerusingmedia3.player;
 
+import android.os.Handler;
 import android.view.View;
 
 import androidx.annotation.FloatRange;
@@ -42,6 +43,19 @@ public interface Player {
      */
     void init();
 
+    /**
+     * Initializes the player and related internal components asynchronously.
+     * The underlying player gets constructed on the thread of the specified {@link Handler} (while still being bound to the main thread),
+     * and the rest of the initialization, as well as the delivery of the callback, take place on the main thread.
+     * (The callback is delivered right away if the player is already initialized, and is dropped if the player gets released in the meantime)
+     * <br>
+     * Must be called on the main thread.
+     *
+     * @param workerHandler the handler of the thread to construct the underlying player on
+     * @param callback      the callback to be invoked once the player is initialized
+     */
+    void initAsync(@NonNull Handler workerHandler, @NonNull Runnable callback);
+
     /**
      * Prepares the media to be played by the player.
      *
@@ -199,6 +213,15 @@ public interface Player {
      */
     boolean isInitialized();
 
+    /**
+     * Retrieves the {@link Player}'s "Initializing" state (see {@link #initAsync(Handler, Runnable)}).
+     * (Can be called from any thread; the underlying player gets set before the state is reset,
+     * so checking this state ahead of the {@link #isInitialized()} one never misses the freshly built player)
+     *
+     * @return whether the player's asynchronous initialization is in progress or not
+     */
+    boolean isInitializing();
+
     /**
      * Retrieves the {@link Player}'s "Playing" state.
      *
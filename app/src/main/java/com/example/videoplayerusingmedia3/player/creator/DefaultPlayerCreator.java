@@ -18,6 +18,7 @@ package com.example.videoplayerusingmedia3.player.creator;
 
 
 import android.net.Uri;
+import android.os.Looper;
 
 import androidx.annotation.NonNull;
 import androidx.media3.common.MediaItem;
@@ -59,7 +60,9 @@ public final class DefaultPlayerCreator implements PlayerCreator {
     private final LoadControl loadControl;
     private final BandwidthMeter bandwidthMeter;
     private final DefaultMediaSourceFactory mediaSourceFactory;
+    private final Looper playbackLooper;
 
+    private final int hashCode;
 
     public DefaultPlayerCreator(@NonNull PlayerProvider playerProvider, @NonNull Config config) {
         Preconditions.nonNull(playerProvider);
@@ -71,6 +74,8 @@ public final class DefaultPlayerCreator implements PlayerCreator {
         this.bandwidthMeter = config.meter;
         this.renderersFactory = new DefaultRenderersFactory(playerProvider.getContext());
         this.mediaSourceFactory = createMediaSourceFactory(playerProvider, config);
+        this.playbackLooper = config.playbackLooper;
+        this.hashCode = computeHashCode();
     }
 
     private DefaultMediaSourceFactory createMediaSourceFactory(PlayerProvider playerProvider, Config config) {
@@ -104,7 +109,8 @@ public final class DefaultPlayerCreator implements PlayerCreator {
             this.trackSelector,
             this.loadControl,
             this.mediaSourceFactory,
-            this.bandwidthMeter
+            this.bandwidthMeter,
+            this.playbackLooper
         );
     }
 
@@ -119,7 +125,8 @@ public final class DefaultPlayerCreator implements PlayerCreator {
                 this.loadControl,
                 this.mediaSourceFactory,
                 playerView,
-                this.bandwidthMeter
+                this.bandwidthMeter,
+                this.playbackLooper
         );
     }
 
@@ -141,6 +148,10 @@ public final class DefaultPlayerCreator implements PlayerCreator {
 
     @Override
     public final int hashCode() {
+        return this.hashCode;
+    }
+
+    private int computeHashCode() {
         final int prime = 31;
         int result = 17;
         result = ((prime * result) + this.playerProvider.hashCode());
@@ -148,13 +159,29 @@ public final class DefaultPlayerCreator implements PlayerCreator {
         result = ((prime * result) + this.loadControl.hashCode());
         result = ((prime * result) + this.renderersFactory.hashCode());
         result = ((prime * result) + this.mediaSourceFactory.hashCode());
+        result = ((prime * result) + ((this.playbackLooper != null) ? this.playbackLooper.hashCode() : 0));
 
         return result;
     }
 
     @Override
     public final boolean equals(Object obj) {
-        return ((obj instanceof DefaultPlayerCreator) && (obj.hashCode() == hashCode()));
+        if (this == obj) {
+            return true;
+        }
+
+        if (!(obj instanceof DefaultPlayerCreator) || (obj.hashCode() != this.hashCode)) {
+            return false;
+        }
+
+        final DefaultPlayerCreator other = (DefaultPlayerCreator) obj;
+
+        return (this.playerProvider.equals(other.playerProvider)
+            && this.trackSelector.equals(other.trackSelector)
+            && this.loadControl.equals(other.loadControl)
+            && this.renderersFactory.equals(other.renderersFactory)
+            && this.mediaSourceFactory.equals(other.mediaSourceFactory)
+            && (this.playbackLooper == other.playbackLooper));
     }
 
 }
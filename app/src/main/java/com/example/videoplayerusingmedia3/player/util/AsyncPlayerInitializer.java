@@ -0,0 +1,177 @@
+/*
+ * Copyright 2017 Arthur Ivanets, arthur.ivanets.work@gmail.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.example.videoplayerusingmedia3.player.util;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+import androidx.media3.exoplayer.ExoPlayer;
+
+import com.example.videoplayerusingmedia3.player.Player;
+import com.example.videoplayerusingmedia3.util.misc.Preconditions;
+import com.example.videoplayerusingmedia3.util.stats.PoolStatsRecorder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A helper which builds the {@link ExoPlayer} of a {@link Player} on a worker thread (see {@link Player#initAsync(Handler, Runnable)}).
+ * <br>
+ * Coalesces the concurrent initialization requests into a single build, delivers the built {@link ExoPlayer}
+ * (along with the initialization callbacks) on the main thread, and hands the stale builds (the ones
+ * that complete after the {@link Player} got released or initialized synchronously) over to the {@link PlayerReleaseQueue}.
+ */
+public final class AsyncPlayerInitializer {
+
+    private final Player mPlayer;
+    private final Callback mCallback;
+
+    // (only ever touched on the main thread)
+    private final List<Runnable> mPendingCallbacks;
+    private int mGeneration;
+
+    // (read from any thread, see Player#isInitializing())
+    private volatile boolean mIsInProgress;
+
+    public AsyncPlayerInitializer(@NonNull Player player, @NonNull Callback callback) {
+        mPlayer = Preconditions.checkNonNull(player);
+        mCallback = Preconditions.checkNonNull(callback);
+        mPendingCallbacks = new ArrayList<>();
+    }
+
+    /**
+     * Starts the asynchronous initialization of the {@link Player} (unless it's already in progress).
+     * The callback is invoked on the main thread once the {@link Player} is initialized.
+     * (Must be called on the main thread, as that's the thread the built {@link ExoPlayer} gets delivered on)
+     *
+     * @param workerHandler the handler of the thread to build the {@link ExoPlayer} on
+     * @param callback the callback to be invoked once the {@link Player} is initialized
+     * @param factory the factory to build the {@link ExoPlayer} with (invoked on the worker thread)
+     */
+    public final void initAsync(@NonNull Handler workerHandler,
+                                @NonNull Runnable callback,
+                                @NonNull ExoPlayerFactory factory) {
+        Preconditions.nonNull(workerHandler);
+        Preconditions.nonNull(callback);
+        Preconditions.nonNull(factory);
+        Preconditions.isTrue("The asynchronous initialization must be started on the main thread.", isMainThread());
+
+        if (mPlayer.isInitialized()) {
+            callback.run();
+            return;
+        }
+
+        mPendingCallbacks.add(callback);
+
+        // the construction of the underlying player is already in progress
+        if (mPendingCallbacks.size() > 1) {
+            return;
+        }
+
+        mIsInProgress = true;
+
+        final int generation = mGeneration;
+        final long startTime = System.nanoTime();
+        final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+        workerHandler.post(() -> {
+            // the ExoPlayer is bound to the main thread, as that's the thread it's going to be used on
+            final ExoPlayer exoPlayer = factory.create(Looper.getMainLooper());
+
+            mainHandler.post(() -> onExoPlayerBuilt(exoPlayer, generation, startTime));
+        });
+    }
+
+    /**
+     * Discards the asynchronous initialization that might be in progress (along with its pending callbacks).
+     * (Must be called on the main thread if the initialization is in progress, see {@link #isInProgress()})
+     */
+    public final void cancel() {
+        // there's nothing to discard (which also keeps the release of the idle players free of the main thread)
+        if (!mIsInProgress) {
+            return;
+        }
+
+        Preconditions.isTrue("The asynchronous initialization must be cancelled on the main thread.", isMainThread());
+
+        mGeneration++;
+        mPendingCallbacks.clear();
+        mIsInProgress = false;
+    }
+
+    /**
+     * Determines whether the asynchronous initialization is in progress (can be called from any thread).
+     */
+    public final boolean isInProgress() {
+        return mIsInProgress;
+    }
+
+    private static boolean isMainThread() {
+        return (Looper.myLooper() == Looper.getMainLooper());
+    }
+
+    private void onExoPlayerBuilt(ExoPlayer exoPlayer, int generation, long startTime) {
+        // the player might have been released in the meantime
+        if (generation != mGeneration) {
+            PlayerReleaseQueue.getInstance().enqueue(exoPlayer);
+            return;
+        }
+
+        // the player might also have been initialized synchronously in the meantime
+        if (mPlayer.isInitialized()) {
+            PlayerReleaseQueue.getInstance().enqueue(exoPlayer);
+        } else {
+            mCallback.onExoPlayerBuilt(exoPlayer);
+            PoolStatsRecorder.getInstance().recordInitLatency(System.nanoTime() - startTime);
+        }
+
+        // (reset only after the built player is set, see Player#isInitializing())
+        mIsInProgress = false;
+
+        final List<Runnable> callbacks = new ArrayList<>(mPendingCallbacks);
+        mPendingCallbacks.clear();
+
+        for (Runnable callback : callbacks) {
+            callback.run();
+        }
+    }
+
+    /**
+     * A factory of the {@link ExoPlayer}s.
+     */
+    public interface ExoPlayerFactory {
+
+        /**
+         * Builds the {@link ExoPlayer} bound to the specified application {@link Looper}.
+         */
+        @NonNull
+        ExoPlayer create(@NonNull Looper applicationLooper);
+
+    }
+
+    /**
+     * A callback to be invoked (on the main thread) with the freshly built {@link ExoPlayer}.
+     */
+    public interface Callback {
+
+        void onExoPlayerBuilt(@NonNull ExoPlayer exoPlayer);
+
+    }
+
+}
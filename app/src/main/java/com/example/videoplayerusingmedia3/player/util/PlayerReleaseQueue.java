@@ -0,0 +1,211 @@
+/*
+ * Copyright 2017 Arthur Ivanets, arthur.ivanets.work@gmail.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.example.videoplayerusingmedia3.player.util;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.MessageQueue;
+
+import androidx.annotation.NonNull;
+import androidx.media3.exoplayer.ExoPlayer;
+
+import com.example.videoplayerusingmedia3.player.Player;
+import com.example.videoplayerusingmedia3.util.misc.Preconditions;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+/**
+ * A process-wide queue of the {@link Player}s that are pending the release.
+ * <br>
+ * The enqueued {@link Player}s are detached and stopped right away (which is non-blocking and lets the playback thread
+ * start tearing the renderers down in the background), while the blocking {@link Player#release()} is deferred
+ * to the subsequent main thread idle periods (one Player per idle period).
+ * The Players that are still pending once the drain deadline passes get released all at once.
+ * The bare {@link ExoPlayer}s (e.g. the stale asynchronous builds) can be enqueued in the same way.
+ * <br>
+ * The underlying players are bound to the main thread, so the players enqueued on any other thread
+ * are handed over to the main thread first (the uninitialized Players, having nothing to tear down, get released right away,
+ * unless their asynchronous initialization is still in progress).
+ */
+public final class PlayerReleaseQueue {
+
+    /**
+     * The default time (in millis) after which all the pending {@link Player}s get released.
+     */
+    public static final long DEFAULT_DRAIN_DEADLINE = 1_000L;
+
+    private static volatile PlayerReleaseQueue sInstance;
+
+    private final Queue<Runnable> mPendingReleases;
+
+    private final long mDrainDeadline;
+
+    private Handler mHandler;
+    private final Runnable mDrainTask;
+    private final MessageQueue.IdleHandler mIdleReleaseHandler;
+
+    private boolean mIsDrainScheduled;
+
+    /**
+     * Lazily creates an instance of the {@link PlayerReleaseQueue} (if necessary).
+     *
+     * @return the instance of the {@link PlayerReleaseQueue}
+     */
+    public static PlayerReleaseQueue getInstance() {
+        if (sInstance == null) {
+            synchronized (PlayerReleaseQueue.class) {
+                if (sInstance == null) {
+                    sInstance = new PlayerReleaseQueue(DEFAULT_DRAIN_DEADLINE);
+                }
+            }
+        }
+
+        return sInstance;
+    }
+
+    private PlayerReleaseQueue(long drainDeadline) {
+        mPendingReleases = new ArrayDeque<>();
+        mDrainDeadline = drainDeadline;
+        mDrainTask = this::drain;
+        mIdleReleaseHandler = this::onIdle;
+        mIsDrainScheduled = false;
+    }
+
+    /**
+     * Detaches and stops the specified {@link Player} right away, and schedules its release.
+     *
+     * @param player the player to be released
+     */
+    public final void enqueue(@NonNull Player player) {
+        Preconditions.nonNull(player);
+
+        // there's nothing to tear down in the uninitialized players, unless their asynchronous initialization is in progress
+        // (in which case the release must be ordered with the delivery of the built player, which happens on the main thread)
+        // (the "Initializing" state is checked first, as it's only reset after the built player is set)
+        if (!player.isInitializing() && !player.isInitialized()) {
+            player.release();
+            return;
+        }
+
+        // the player is bound to the main thread, so it can only be torn down there
+        if (Looper.myLooper() != Looper.getMainLooper()) {
+            postToMainThread(() -> enqueue(player));
+            return;
+        }
+
+        // detaching the player from the view it's displayed in (if it still is)
+        if (player.isAttached()) {
+            player.postDetachedEvent();
+        }
+
+        player.setAttachmentStateDelegate(null);
+        player.removeAllEventListeners();
+        player.pause();
+        player.stop(false);
+
+        mPendingReleases.add(player::release);
+
+        scheduleDrain();
+    }
+
+    /**
+     * Stops the specified {@link ExoPlayer} right away, and schedules its release.
+     *
+     * @param exoPlayer the player to be released
+     */
+    public final void enqueue(@NonNull ExoPlayer exoPlayer) {
+        Preconditions.nonNull(exoPlayer);
+
+        // the player is bound to the main thread, so it can only be torn down there
+        if (Looper.myLooper() != Looper.getMainLooper()) {
+            postToMainThread(() -> enqueue(exoPlayer));
+            return;
+        }
+
+        exoPlayer.stop();
+
+        mPendingReleases.add(exoPlayer::release);
+
+        scheduleDrain();
+    }
+
+    /**
+     * Releases all the pending {@link Player}s right away.
+     */
+    public final void drain() {
+        cancelDrain();
+
+        Runnable release;
+
+        while ((release = mPendingReleases.poll()) != null) {
+            release.run();
+        }
+    }
+
+    /**
+     * Retrieves the number of the players that are pending the release.
+     */
+    public final int getPendingCount() {
+        return mPendingReleases.size();
+    }
+
+    private void postToMainThread(Runnable task) {
+        // (the shared handler is only ever touched on the main thread)
+        new Handler(Looper.getMainLooper()).post(task);
+    }
+
+    private void scheduleDrain() {
+        if (mIsDrainScheduled) {
+            return;
+        }
+
+        if (mHandler == null) {
+            mHandler = new Handler(Looper.getMainLooper());
+        }
+
+        mIsDrainScheduled = true;
+        mHandler.postDelayed(mDrainTask, mDrainDeadline);
+        Looper.myQueue().addIdleHandler(mIdleReleaseHandler);
+    }
+
+    private void cancelDrain() {
+        if (!mIsDrainScheduled) {
+            return;
+        }
+
+        mIsDrainScheduled = false;
+        mHandler.removeCallbacks(mDrainTask);
+        Looper.myQueue().removeIdleHandler(mIdleReleaseHandler);
+    }
+
+    private boolean onIdle() {
+        final Runnable release = mPendingReleases.poll();
+
+        if (release != null) {
+            release.run();
+        }
+
+        if (mPendingReleases.isEmpty()) {
+            cancelDrain();
+            return false;
+        }
+
+        return true;
+    }
+
+}
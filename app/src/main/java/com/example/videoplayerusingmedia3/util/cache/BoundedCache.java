@@ -0,0 +1,339 @@
+/*
+ * Copyright 2017 Arthur Ivanets, arthur.ivanets.work@gmail.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.example.videoplayerusingmedia3.util.cache;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.example.videoplayerusingmedia3.util.misc.Preconditions;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A synchronized (thread-safe) implementation of the in-memory (RAM) {@link Cache}, bounded by the maximum
+ * number of the entries and by the approximate total size (in bytes) of the entries, as estimated by the {@link Weigher}.
+ * Once either of the bounds is exceeded, the least recently used entries get evicted (and reported to the
+ * {@link Cache.EvictionListener}, if there's any), except for the most recently put one.
+ *
+ * @param <K> the cache key type
+ * @param <V> the cache value type
+ */
+final class BoundedCache<K, V> implements Cache<K, V> {
+
+    private final Object mLock;
+
+    private final Map<K, V> mCacheMap;
+
+    private final int mMaxSize;
+    private final long mMaxBytes;
+
+    private final Weigher<K, V> mWeigher;
+
+    @Nullable
+    private final EvictionListener<K, V> mEvictionListener;
+
+    private long mSizeInBytes;
+
+    /**
+     * @param maxSize          the maximum number of the entries (<strong>0</strong> for no limit)
+     * @param maxBytes         the maximum approximate size of the entries in bytes (<strong>0</strong> for no limit)
+     * @param weigher          the estimator of the entry sizes
+     * @param evictionListener the listener of the entry evictions
+     */
+    BoundedCache(int maxSize,
+                 long maxBytes,
+                 @NonNull Weigher<K, V> weigher,
+                 @Nullable EvictionListener<K, V> evictionListener) {
+        Preconditions.isTrue("You must specify a valid Max Size.", (maxSize >= 0));
+        Preconditions.isTrue("You must specify a valid Max Bytes.", (maxBytes >= 0L));
+
+        mLock = new Object();
+        mCacheMap = new LinkedHashMap<>(16, 0.75f, true);
+        mMaxSize = maxSize;
+        mMaxBytes = maxBytes;
+        mWeigher = Preconditions.checkNonNull(weigher);
+        mEvictionListener = evictionListener;
+        mSizeInBytes = 0L;
+    }
+
+    @Override
+    public final V put(K key, V value) {
+        final List<Map.Entry<K, V>> evictedEntries;
+        final V oldValue;
+
+        synchronized (mLock) {
+            oldValue = putInternal(key, value);
+            evictedEntries = trimToBounds();
+        }
+
+        dispatchEvictions(evictedEntries);
+
+        return oldValue;
+    }
+
+    @Override
+    public final V get(K key) {
+        return get(key, null);
+    }
+
+    @Override
+    public final V get(K key, V defaultValue) {
+        synchronized (mLock) {
+            final V value = mCacheMap.get(key);
+            return ((value != null) ? value : defaultValue);
+        }
+    }
+
+    @Override
+    public final V getOrCompute(K key, @NonNull Factory<K, V> factory) {
+        Preconditions.nonNull(factory);
+
+        final List<Map.Entry<K, V>> evictedEntries;
+        V value;
+
+        synchronized (mLock) {
+            value = mCacheMap.get(key);
+
+            if (value != null) {
+                return value;
+            }
+
+            value = factory.create(key);
+
+            putInternal(key, value);
+            evictedEntries = trimToBounds();
+        }
+
+        dispatchEvictions(evictedEntries);
+
+        return value;
+    }
+
+    @Override
+    public final V compute(K key, @NonNull Remapper<K, V> remapper) {
+        Preconditions.nonNull(remapper);
+
+        final List<Map.Entry<K, V>> evictedEntries;
+        final V newValue;
+
+        synchronized (mLock) {
+            newValue = remapper.remap(key, mCacheMap.get(key));
+
+            if (newValue != null) {
+                putInternal(key, newValue);
+            } else {
+                removeInternal(key);
+            }
+
+            evictedEntries = trimToBounds();
+        }
+
+        dispatchEvictions(evictedEntries);
+
+        return newValue;
+    }
+
+    @Override
+    public final V computeIfPresent(K key, @NonNull Remapper<K, V> remapper) {
+        Preconditions.nonNull(remapper);
+
+        final List<Map.Entry<K, V>> evictedEntries;
+        final V newValue;
+
+        synchronized (mLock) {
+            final V value = mCacheMap.get(key);
+
+            if (value == null) {
+                return null;
+            }
+
+            newValue = remapper.remap(key, value);
+
+            if (newValue != null) {
+                putInternal(key, newValue);
+            } else {
+                removeInternal(key);
+            }
+
+            evictedEntries = trimToBounds();
+        }
+
+        dispatchEvictions(evictedEntries);
+
+        return newValue;
+    }
+
+    @Override
+    public final <RV> RV getAs(K key) {
+        return getAs(key, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public final <RV> RV getAs(K key, RV defaultValue) {
+        final V value = get(key);
+        return ((value != null) ? (RV) value : defaultValue);
+    }
+
+    @Override
+    public final V remove(K key) {
+        return remove(key, null);
+    }
+
+    @Override
+    public final V remove(K key, V defaultValue) {
+        synchronized (mLock) {
+            final V value = removeInternal(key);
+            return ((value != null) ? value : defaultValue);
+        }
+    }
+
+    @Override
+    public final <RV> RV removeAs(K key) {
+        return removeAs(key, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public final <RV> RV removeAs(K key, RV defaultValue) {
+        final V value = remove(key);
+        return ((value != null) ? (RV) value : defaultValue);
+    }
+
+    @Override
+    public final boolean contains(K key) {
+        synchronized (mLock) {
+            // (containsKey() doesn't affect the access order)
+            return mCacheMap.containsKey(key);
+        }
+    }
+
+    @Override
+    public final boolean clear() {
+        synchronized (mLock) {
+            mCacheMap.clear();
+            mSizeInBytes = 0L;
+        }
+
+        return true;
+    }
+
+    /**
+     * Retrieves the current number of the entries.
+     */
+    final int size() {
+        synchronized (mLock) {
+            return mCacheMap.size();
+        }
+    }
+
+    /**
+     * Retrieves the current approximate size of the entries (in bytes).
+     */
+    final long sizeInBytes() {
+        synchronized (mLock) {
+            return mSizeInBytes;
+        }
+    }
+
+    private V putInternal(K key, V value) {
+        // (the null values are considered absent)
+        if (value == null) {
+            return removeInternal(key);
+        }
+
+        final V oldValue = mCacheMap.put(key, value);
+
+        if (oldValue != null) {
+            mSizeInBytes -= mWeigher.weigh(key, oldValue);
+        }
+
+        mSizeInBytes += mWeigher.weigh(key, value);
+
+        return oldValue;
+    }
+
+    private V removeInternal(K key) {
+        final V value = mCacheMap.remove(key);
+
+        if (value != null) {
+            mSizeInBytes -= mWeigher.weigh(key, value);
+        }
+
+        return value;
+    }
+
+    private List<Map.Entry<K, V>> trimToBounds() {
+        List<Map.Entry<K, V>> evictedEntries = null;
+
+        // the iteration starts from the least recently used entry, while the most recently put one is always kept
+        final Iterator<Map.Entry<K, V>> iterator = mCacheMap.entrySet().iterator();
+
+        while (isOverBounds() && (mCacheMap.size() > 1) && iterator.hasNext()) {
+            final Map.Entry<K, V> entry = iterator.next();
+
+            iterator.remove();
+            mSizeInBytes -= mWeigher.weigh(entry.getKey(), entry.getValue());
+
+            if (mEvictionListener != null) {
+                if (evictedEntries == null) {
+                    evictedEntries = new ArrayList<>();
+                }
+
+                evictedEntries.add(entry);
+            }
+        }
+
+        return evictedEntries;
+    }
+
+    private boolean isOverBounds() {
+        return (((mMaxSize > 0) && (mCacheMap.size() > mMaxSize))
+            || ((mMaxBytes > 0L) && (mSizeInBytes > mMaxBytes)));
+    }
+
+    private void dispatchEvictions(@Nullable List<Map.Entry<K, V>> evictedEntries) {
+        if ((evictedEntries == null) || (mEvictionListener == null)) {
+            return;
+        }
+
+        for (Map.Entry<K, V> entry : evictedEntries) {
+            mEvictionListener.onEvicted(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * An estimator of the {@link BoundedCache} entry sizes.
+     * The estimation must remain stable for as long as the entry is held by the cache.
+     *
+     * @param <K> the cache key type
+     * @param <V> the cache value type
+     */
+    interface Weigher<K, V> {
+
+        /**
+         * Estimates the size of the entry (in bytes), including the size of the key.
+         */
+        long weigh(K key, @NonNull V value);
+
+    }
+
+}
@@ -16,6 +16,9 @@
 
 package com.example.videoplayerusingmedia3.util.cache;
 
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
 /**
  * A base contract to be implemented by the concrete {@link Cache} implementations.
  *
@@ -52,6 +55,48 @@ public interface Cache<K, V> {
      */
     V get(K key, V defaultValue);
 
+    /**
+     * Retrieves the value {@link V} associated with the specified key {@link K}.
+     * In cases when the value {@link V} is not present within the cache, a new value is created
+     * by the specified {@link Factory}, put into the cache and returned.
+     * <br>
+     * The factory is only invoked upon a miss, so the hits require neither the extra lookups nor allocations.
+     * (The concurrent implementations may invoke the factory more than once under contention,
+     * but only one of the created values ever gets into the cache and is returned to all the callers.)
+     *
+     * @param key     the key to retrieve the value for
+     * @param factory the factory of the value to be used if it's not present
+     * @return the corresponding value if it's present, or the newly created one otherwise
+     */
+    V getOrCompute(K key, @NonNull Factory<K, V> factory);
+
+    /**
+     * Atomically computes a new value {@link V} for the specified key {@link K}, based on the currently
+     * associated value (or <strong>null</strong> if there's none), and puts it into the cache.
+     * If the computed value is <strong>null</strong>, the existing entry (if any) is removed.
+     * <br>
+     * (The concurrent implementations may invoke the remapper more than once under contention,
+     * see {@link Remapper} for what that implies.)
+     *
+     * @param key      the key to compute the value for
+     * @param remapper the remapper that computes the new value
+     * @return the new value, or <strong>null</strong> if there's none
+     */
+    V compute(K key, @NonNull Remapper<K, V> remapper);
+
+    /**
+     * Atomically computes a new value {@link V} for the specified key {@link K} if (and only if) the value is present
+     * within the cache. If the computed value is <strong>null</strong>, the existing entry is removed.
+     * <br>
+     * (The concurrent implementations may invoke the remapper more than once under contention,
+     * see {@link Remapper} for what that implies.)
+     *
+     * @param key      the key to compute the value for
+     * @param remapper the remapper that computes the new value (never receives a <strong>null</strong> value)
+     * @return the new value, or <strong>null</strong> if there's none
+     */
+    V computeIfPresent(K key, @NonNull Remapper<K, V> remapper);
+
     /**
      * Retrieves the value that corresponds to the specified key {@link K} and automatically
      * casts it to the desired value type, based on the type inference.
@@ -131,4 +176,70 @@ public interface Cache<K, V> {
      */
     boolean clear();
 
+    /**
+     * A factory of the {@link Cache} values, used by the {@link #getOrCompute(Object, Factory)}.
+     *
+     * @param <K> cache entry key type
+     * @param <V> cache entry type
+     */
+    interface Factory<K, V> {
+
+        /**
+         * Creates a new value {@link V} for the specified key {@link K}.
+         *
+         * @param key the key to create the value for
+         * @return the created value
+         */
+        @NonNull
+        V create(K key);
+
+    }
+
+    /**
+     * A remapper of the {@link Cache} values, used by the {@link #compute(Object, Remapper)}
+     * and {@link #computeIfPresent(Object, Remapper)}.
+     * <br>
+     * The remapper may either return a new value, or mutate the current value in place and return it
+     * (e.g. to update a field of a mutable value without an allocation). The concurrent implementations
+     * (e.g. the {@link ConcurrentMapCache}, which retries the remapping whenever the entry gets concurrently modified)
+     * may invoke the remapper more than once for a single call, so the in-place mutations must be idempotent
+     * (e.g. setting a field to a precomputed value rather than incrementing it), and the rest of the side effects should be avoided.
+     *
+     * @param <K> cache entry key type
+     * @param <V> cache entry type
+     */
+    interface Remapper<K, V> {
+
+        /**
+         * Computes a new value {@link V} for the specified key {@link K}.
+         *
+         * @param key   the key to compute the value for
+         * @param value the currently associated value, or <strong>null</strong> if there's none
+         * @return the new value, or <strong>null</strong> if the entry is to be removed
+         */
+        @Nullable
+        V remap(K key, @Nullable V value);
+
+    }
+
+    /**
+     * A listener of the {@link Cache} entry evictions, performed by the bounded {@link Cache} implementations
+     * once they exceed their capacity. (The explicit removals and replacements are not reported)
+     *
+     * @param <K> cache entry key type
+     * @param <V> cache entry type
+     */
+    interface EvictionListener<K, V> {
+
+        /**
+         * Gets invoked once the entry has been evicted from the {@link Cache}.
+         * (Invoked on the thread that caused the eviction, outside of any internal locks of the {@link Cache})
+         *
+         * @param key   the key of the evicted entry
+         * @param value the evicted value
+         */
+        void onEvicted(K key, V value);
+
+    }
+
 }
@@ -30,6 +30,17 @@ public enum CacheType {
             final Cache<K, V> cache = new InMemoryCache<>();
             return (concurrent ? new ConcurrentCache<>(cache) : cache);
         }
+    },
+
+    /**
+     * A lock-free (for reads) in-memory (RAM) implementation of {@link Cache}, backed by the
+     * {@link java.util.concurrent.ConcurrentHashMap}. Always thread-safe, regardless of the requested concurrency.
+     */
+    CONCURRENT_IN_MEMORY {
+        @Override
+        <K, V> Cache<K, V> create(boolean concurrent) {
+            return new ConcurrentMapCache<>();
+        }
     };
 
     /**
@@ -0,0 +1,425 @@
+/*
+ * Copyright 2017 Arthur Ivanets, arthur.ivanets.work@gmail.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.example.videoplayerusingmedia3.util.cache;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.example.videoplayerusingmedia3.model.PlaybackInfo;
+import com.example.videoplayerusingmedia3.model.VolumeInfo;
+import com.example.videoplayerusingmedia3.util.misc.Preconditions;
+
+/**
+ * A synchronized (thread-safe) implementation of the {@link Cache} of the {@link PlaybackInfo}s, which keeps the
+ * {@link PlaybackInfo}s in the parallel primitive arrays (struct-of-arrays) instead of the object graphs,
+ * indexed by an open-addressing (linear probing) hash table.
+ * <br>
+ * Neither the keys nor the {@link PlaybackInfo}/{@link VolumeInfo} objects are retained: the entries are identified by the
+ * 64-bit hashes of the keys (see {@link PlaybackInfoCache#hashKey(String)}), and the values are decomposed into the arrays
+ * upon the writes. Every read materializes a detached {@link PlaybackInfo} out of the arrays, so the modifications
+ * of the read {@link PlaybackInfo} only take effect once it is put (or remapped) back into the cache.
+ * <br>
+ * The per-entry footprint is 28 bytes (key hash, position, duration, volume) plus 3 bits (occupied, ended, muted),
+ * divided by the load factor (between {@link #MAX_LOAD_FACTOR} / 2 and {@link #MAX_LOAD_FACTOR}).
+ */
+final class CompactPlaybackInfoCache implements Cache<String, PlaybackInfo> {
+
+    static final int INITIAL_CAPACITY = 64;
+
+    private static final float MAX_LOAD_FACTOR = 0.75f;
+
+    private final Object mLock;
+
+    private long[] mKeyHashes;
+    private long[] mPositions;
+    private long[] mDurations;
+    private float[] mVolumes;
+
+    private long[] mOccupiedBits;
+    private long[] mEndedBits;
+    private long[] mMutedBits;
+
+    private int mSize;
+
+    CompactPlaybackInfoCache() {
+        mLock = new Object();
+
+        allocate(INITIAL_CAPACITY);
+    }
+
+    @Override
+    public final PlaybackInfo put(String key, PlaybackInfo value) {
+        if (key == null) {
+            return null;
+        }
+
+        synchronized (mLock) {
+            return putInternal(PlaybackInfoCache.hashKey(key), value);
+        }
+    }
+
+    @Override
+    public final PlaybackInfo get(String key) {
+        return get(key, null);
+    }
+
+    @Override
+    public final PlaybackInfo get(String key, PlaybackInfo defaultValue) {
+        if (key == null) {
+            return defaultValue;
+        }
+
+        synchronized (mLock) {
+            final int slot = findSlot(PlaybackInfoCache.hashKey(key));
+            return ((slot >= 0) ? materialize(slot) : defaultValue);
+        }
+    }
+
+    @Override
+    public final PlaybackInfo getOrCompute(String key, @NonNull Factory<String, PlaybackInfo> factory) {
+        Preconditions.nonNull(factory);
+
+        if (key == null) {
+            return factory.create(null);
+        }
+
+        final long keyHash = PlaybackInfoCache.hashKey(key);
+
+        synchronized (mLock) {
+            final int slot = findSlot(keyHash);
+
+            if (slot >= 0) {
+                return materialize(slot);
+            }
+
+            final PlaybackInfo value = factory.create(key);
+            putInternal(keyHash, value);
+
+            return value;
+        }
+    }
+
+    @Override
+    public final PlaybackInfo compute(String key, @NonNull Remapper<String, PlaybackInfo> remapper) {
+        Preconditions.nonNull(remapper);
+
+        if (key == null) {
+            return remapper.remap(null, null);
+        }
+
+        final long keyHash = PlaybackInfoCache.hashKey(key);
+
+        synchronized (mLock) {
+            final int slot = findSlot(keyHash);
+            final PlaybackInfo newValue = remapper.remap(key, ((slot >= 0) ? materialize(slot) : null));
+
+            putInternal(keyHash, newValue);
+
+            return newValue;
+        }
+    }
+
+    @Override
+    public final PlaybackInfo computeIfPresent(String key, @NonNull Remapper<String, PlaybackInfo> remapper) {
+        Preconditions.nonNull(remapper);
+
+        if (key == null) {
+            return null;
+        }
+
+        final long keyHash = PlaybackInfoCache.hashKey(key);
+
+        synchronized (mLock) {
+            final int slot = findSlot(keyHash);
+
+            if (slot < 0) {
+                return null;
+            }
+
+            final PlaybackInfo newValue = remapper.remap(key, materialize(slot));
+
+            putInternal(keyHash, newValue);
+
+            return newValue;
+        }
+    }
+
+    @Override
+    public final <RV> RV getAs(String key) {
+        return getAs(key, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public final <RV> RV getAs(String key, RV defaultValue) {
+        final PlaybackInfo value = get(key);
+        return ((value != null) ? (RV) value : defaultValue);
+    }
+
+    @Override
+    public final PlaybackInfo remove(String key) {
+        return remove(key, null);
+    }
+
+    @Override
+    public final PlaybackInfo remove(String key, PlaybackInfo defaultValue) {
+        if (key == null) {
+            return defaultValue;
+        }
+
+        synchronized (mLock) {
+            final int slot = findSlot(PlaybackInfoCache.hashKey(key));
+
+            if (slot < 0) {
+                return defaultValue;
+            }
+
+            final PlaybackInfo value = materialize(slot);
+            removeSlot(slot);
+
+            return value;
+        }
+    }
+
+    @Override
+    public final <RV> RV removeAs(String key) {
+        return removeAs(key, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public final <RV> RV removeAs(String key, RV defaultValue) {
+        final PlaybackInfo value = remove(key);
+        return ((value != null) ? (RV) value : defaultValue);
+    }
+
+    @Override
+    public final boolean contains(String key) {
+        if (key == null) {
+            return false;
+        }
+
+        synchronized (mLock) {
+            return (findSlot(PlaybackInfoCache.hashKey(key)) >= 0);
+        }
+    }
+
+    @Override
+    public final boolean clear() {
+        synchronized (mLock) {
+            allocate(INITIAL_CAPACITY);
+        }
+
+        return true;
+    }
+
+    /**
+     * Retrieves the current number of the entries.
+     */
+    final int size() {
+        synchronized (mLock) {
+            return mSize;
+        }
+    }
+
+    /**
+     * Retrieves the size (in bytes) of the arrays currently backing the entries (excluding the array headers).
+     */
+    final long sizeInBytes() {
+        synchronized (mLock) {
+            return ((8L * (mKeyHashes.length + mPositions.length + mDurations.length))
+                + (4L * mVolumes.length)
+                + (8L * (mOccupiedBits.length + mEndedBits.length + mMutedBits.length)));
+        }
+    }
+
+    private PlaybackInfo putInternal(long keyHash, @Nullable PlaybackInfo value) {
+        int slot = findSlot(keyHash);
+        final PlaybackInfo oldValue = ((slot >= 0) ? materialize(slot) : null);
+
+        // (the null values are considered absent)
+        if (value == null) {
+            if (slot >= 0) {
+                removeSlot(slot);
+            }
+
+            return oldValue;
+        }
+
+        if (slot < 0) {
+            if (((mSize + 1) / (float) mKeyHashes.length) > MAX_LOAD_FACTOR) {
+                resize(mKeyHashes.length * 2);
+            }
+
+            slot = findFreeSlot(keyHash);
+            mKeyHashes[slot] = keyHash;
+            setBit(mOccupiedBits, slot, true);
+            mSize++;
+        }
+
+        final VolumeInfo volumeInfo = value.getVolumeInfo();
+
+        mPositions[slot] = value.getPlaybackPosition();
+        mDurations[slot] = value.getDuration();
+        mVolumes[slot] = volumeInfo.getVolume();
+        setBit(mEndedBits, slot, value.isEnded());
+        setBit(mMutedBits, slot, volumeInfo.isMuted());
+
+        return oldValue;
+    }
+
+    private PlaybackInfo materialize(int slot) {
+        return new PlaybackInfo()
+            .setPlaybackPosition(mPositions[slot])
+            .setDuration(mDurations[slot])
+            .setVolumeInfo(new VolumeInfo(mVolumes[slot], getBit(mMutedBits, slot)))
+            .setEnded(getBit(mEndedBits, slot));
+    }
+
+    /**
+     * Looks for the slot of the entry with the specified key hash.
+     *
+     * @return the slot of the entry, or <strong>-1</strong> if there's none
+     */
+    private int findSlot(long keyHash) {
+        final int mask = (mKeyHashes.length - 1);
+
+        for (int slot = getHomeSlot(keyHash, mask); getBit(mOccupiedBits, slot); slot = ((slot + 1) & mask)) {
+            if (mKeyHashes[slot] == keyHash) {
+                return slot;
+            }
+        }
+
+        return -1;
+    }
+
+    private int findFreeSlot(long keyHash) {
+        final int mask = (mKeyHashes.length - 1);
+        int slot = getHomeSlot(keyHash, mask);
+
+        while (getBit(mOccupiedBits, slot)) {
+            slot = ((slot + 1) & mask);
+        }
+
+        return slot;
+    }
+
+    /**
+     * Removes the entry by shifting the subsequent entries of the probe sequence backwards (instead of leaving a tombstone),
+     * so that the lookups never have to skip the removed entries.
+     */
+    private void removeSlot(int slot) {
+        final int mask = (mKeyHashes.length - 1);
+        int freeSlot = slot;
+        int nextSlot = slot;
+
+        while (true) {
+            nextSlot = ((nextSlot + 1) & mask);
+
+            if (!getBit(mOccupiedBits, nextSlot)) {
+                break;
+            }
+
+            final int homeSlot = getHomeSlot(mKeyHashes[nextSlot], mask);
+
+            // the entry stays where it is if its home slot lies cyclically within (freeSlot, nextSlot]
+            final boolean isReachable = ((freeSlot <= nextSlot)
+                ? ((freeSlot < homeSlot) && (homeSlot <= nextSlot))
+                : ((freeSlot < homeSlot) || (homeSlot <= nextSlot)));
+
+            if (!isReachable) {
+                moveSlot(nextSlot, freeSlot);
+                freeSlot = nextSlot;
+            }
+        }
+
+        setBit(mOccupiedBits, freeSlot, false);
+        mSize--;
+    }
+
+    private void moveSlot(int fromSlot, int toSlot) {
+        mKeyHashes[toSlot] = mKeyHashes[fromSlot];
+        mPositions[toSlot] = mPositions[fromSlot];
+        mDurations[toSlot] = mDurations[fromSlot];
+        mVolumes[toSlot] = mVolumes[fromSlot];
+        setBit(mEndedBits, toSlot, getBit(mEndedBits, fromSlot));
+        setBit(mMutedBits, toSlot, getBit(mMutedBits, fromSlot));
+    }
+
+    private void resize(int capacity) {
+        final long[] keyHashes = mKeyHashes;
+        final long[] positions = mPositions;
+        final long[] durations = mDurations;
+        final float[] volumes = mVolumes;
+        final long[] occupiedBits = mOccupiedBits;
+        final long[] endedBits = mEndedBits;
+        final long[] mutedBits = mMutedBits;
+
+        allocate(capacity);
+
+        for (int oldSlot = 0; oldSlot < keyHashes.length; oldSlot++) {
+            if (!getBit(occupiedBits, oldSlot)) {
+                continue;
+            }
+
+            final int slot = findFreeSlot(keyHashes[oldSlot]);
+
+            mKeyHashes[slot] = keyHashes[oldSlot];
+            mPositions[slot] = positions[oldSlot];
+            mDurations[slot] = durations[oldSlot];
+            mVolumes[slot] = volumes[oldSlot];
+            setBit(mOccupiedBits, slot, true);
+            setBit(mEndedBits, slot, getBit(endedBits, oldSlot));
+            setBit(mMutedBits, slot, getBit(mutedBits, oldSlot));
+            mSize++;
+        }
+    }
+
+    /**
+     * Allocates the empty arrays of the specified capacity (must be a power of two).
+     */
+    private void allocate(int capacity) {
+        final int bitsetLength = ((capacity + 63) >>> 6);
+
+        mKeyHashes = new long[capacity];
+        mPositions = new long[capacity];
+        mDurations = new long[capacity];
+        mVolumes = new float[capacity];
+        mOccupiedBits = new long[bitsetLength];
+        mEndedBits = new long[bitsetLength];
+        mMutedBits = new long[bitsetLength];
+        mSize = 0;
+    }
+
+    static int getHomeSlot(long keyHash, int mask) {
+        final int hash = (int) (keyHash ^ (keyHash >>> 32));
+        return ((hash ^ (hash >>> 16)) & mask);
+    }
+
+    private static boolean getBit(long[] bits, int index) {
+        return ((bits[index >>> 6] & (1L << index)) != 0L);
+    }
+
+    private static void setBit(long[] bits, int index, boolean value) {
+        if (value) {
+            bits[index >>> 6] |= (1L << index);
+        } else {
+            bits[index >>> 6] &= ~(1L << index);
+        }
+    }
+
+}
@@ -61,6 +61,27 @@ final class ConcurrentCache<K, V> implements Cache<K, V> {
         }
     }
 
+    @Override
+    public final V getOrCompute(K key, @NonNull Factory<K, V> factory) {
+        synchronized (mLock) {
+            return mCache.getOrCompute(key, factory);
+        }
+    }
+
+    @Override
+    public final V compute(K key, @NonNull Remapper<K, V> remapper) {
+        synchronized (mLock) {
+            return mCache.compute(key, remapper);
+        }
+    }
+
+    @Override
+    public final V computeIfPresent(K key, @NonNull Remapper<K, V> remapper) {
+        synchronized (mLock) {
+            return mCache.computeIfPresent(key, remapper);
+        }
+    }
+
     @Override
     public final <RV> RV getAs(K key) {
         synchronized (mLock) {
@@ -0,0 +1,191 @@
+/*
+ * Copyright 2017 Arthur Ivanets, arthur.ivanets.work@gmail.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.example.videoplayerusingmedia3.util.cache;
+
+import androidx.annotation.NonNull;
+
+import com.example.videoplayerusingmedia3.util.misc.Preconditions;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A thread-safe implementation of the in-memory (RAM) {@link Cache}, backed by the {@link ConcurrentHashMap}.
+ * <br>
+ * Unlike the {@link ConcurrentCache}, which serializes all the operations on a single monitor,
+ * the reads never block and the writes only contend when they hit the same bin of the underlying map.
+ * <br>
+ * The <strong>null</strong> keys and values are not stored: the reads and removals of the <strong>null</strong> key
+ * fall back to the default value, and putting a <strong>null</strong> value removes the existing entry
+ * (which is consistent with the {@link InMemoryCache}, where a <strong>null</strong> value is considered absent).
+ * <br>
+ * The {@link #compute(Object, Remapper)} and {@link #computeIfPresent(Object, Remapper)} are implemented as the optimistic
+ * replacement loops, so the remapper gets invoked again (with the latest value) each time the entry is concurrently modified.
+ * (The values that are mutated in place stay the same instance, so only the concurrent removals and replacements cause the retries)
+ *
+ * @param <K> the cache key type
+ * @param <V> the cache value type
+ */
+final class ConcurrentMapCache<K, V> implements Cache<K, V> {
+
+    private final ConcurrentMap<K, V> mCacheMap;
+
+    ConcurrentMapCache() {
+        mCacheMap = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public final V put(K key, V value) {
+        if (key == null) {
+            return null;
+        }
+
+        return ((value != null) ? mCacheMap.put(key, value) : mCacheMap.remove(key));
+    }
+
+    @Override
+    public final V get(K key) {
+        return get(key, null);
+    }
+
+    @Override
+    public final V get(K key, V defaultValue) {
+        final V value = ((key != null) ? mCacheMap.get(key) : null);
+        return ((value != null) ? value : defaultValue);
+    }
+
+    @Override
+    public final V getOrCompute(K key, @NonNull Factory<K, V> factory) {
+        Preconditions.nonNull(factory);
+
+        if (key == null) {
+            return factory.create(null);
+        }
+
+        final V value = mCacheMap.get(key);
+
+        if (value != null) {
+            return value;
+        }
+
+        // (putIfAbsent() rather than computeIfAbsent(), as the latter is only available starting from Android N)
+        final V newValue = factory.create(key);
+        final V existingValue = mCacheMap.putIfAbsent(key, newValue);
+
+        return ((existingValue != null) ? existingValue : newValue);
+    }
+
+    @Override
+    public final V compute(K key, @NonNull Remapper<K, V> remapper) {
+        Preconditions.nonNull(remapper);
+
+        if (key == null) {
+            return remapper.remap(null, null);
+        }
+
+        while (true) {
+            final V value = mCacheMap.get(key);
+            final V newValue = remapper.remap(key, value);
+
+            if (replace(key, value, newValue)) {
+                return newValue;
+            }
+        }
+    }
+
+    @Override
+    public final V computeIfPresent(K key, @NonNull Remapper<K, V> remapper) {
+        Preconditions.nonNull(remapper);
+
+        if (key == null) {
+            return null;
+        }
+
+        V value;
+
+        while ((value = mCacheMap.get(key)) != null) {
+            final V newValue = remapper.remap(key, value);
+
+            if (replace(key, value, newValue)) {
+                return newValue;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Atomically replaces the expected value (<strong>null</strong> meaning "absent") with the new value
+     * (<strong>null</strong> meaning "remove").
+     *
+     * @return <strong>true</strong> if the replacement succeeded, <strong>false</strong> if the entry has been concurrently modified
+     */
+    private boolean replace(K key, V expectedValue, V newValue) {
+        if (expectedValue == null) {
+            return ((newValue == null) || (mCacheMap.putIfAbsent(key, newValue) == null));
+        }
+
+        return ((newValue != null) ? mCacheMap.replace(key, expectedValue, newValue) : mCacheMap.remove(key, expectedValue));
+    }
+
+    @Override
+    public final <RV> RV getAs(K key) {
+        return getAs(key, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public final <RV> RV getAs(K key, RV defaultValue) {
+        final V value = ((key != null) ? mCacheMap.get(key) : null);
+        return ((value != null) ? (RV) value : defaultValue);
+    }
+
+    @Override
+    public final V remove(K key) {
+        return remove(key, null);
+    }
+
+    @Override
+    public final V remove(K key, V defaultValue) {
+        final V value = ((key != null) ? mCacheMap.remove(key) : null);
+        return ((value != null) ? value : defaultValue);
+    }
+
+    @Override
+    public final <RV> RV removeAs(K key) {
+        return removeAs(key, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public final <RV> RV removeAs(K key, RV defaultValue) {
+        final V value = ((key != null) ? mCacheMap.remove(key) : null);
+        return ((value != null) ? (RV) value : defaultValue);
+    }
+
+    @Override
+    public final boolean contains(K key) {
+        return ((key != null) && mCacheMap.containsKey(key));
+    }
+
+    @Override
+    public final boolean clear() {
+        mCacheMap.clear();
+        return true;
+    }
+
+}
@@ -16,6 +16,10 @@
 
 package com.example.videoplayerusingmedia3.util.cache;
 
+import androidx.annotation.NonNull;
+
+import com.example.videoplayerusingmedia3.util.misc.Preconditions;
+
 import java.util.HashMap;
 import java.util.Map;
 
@@ -45,7 +49,47 @@ final class InMemoryCache<K, V> implements Cache<K, V> {
 
     @Override
     public final V get(K key, V defaultValue) {
-        return (contains(key) ? mCacheMap.get(key) : defaultValue);
+        final V value = mCacheMap.get(key);
+        return ((value != null) ? value : defaultValue);
+    }
+
+    @Override
+    public final V getOrCompute(K key, @NonNull Factory<K, V> factory) {
+        Preconditions.nonNull(factory);
+
+        V value = mCacheMap.get(key);
+
+        if (value == null) {
+            value = factory.create(key);
+            mCacheMap.put(key, value);
+        }
+
+        return value;
+    }
+
+    @Override
+    public final V compute(K key, @NonNull Remapper<K, V> remapper) {
+        Preconditions.nonNull(remapper);
+
+        return update(key, remapper.remap(key, mCacheMap.get(key)));
+    }
+
+    @Override
+    public final V computeIfPresent(K key, @NonNull Remapper<K, V> remapper) {
+        Preconditions.nonNull(remapper);
+
+        final V value = mCacheMap.get(key);
+        return ((value != null) ? update(key, remapper.remap(key, value)) : null);
+    }
+
+    private V update(K key, V newValue) {
+        if (newValue != null) {
+            mCacheMap.put(key, newValue);
+        } else {
+            mCacheMap.remove(key);
+        }
+
+        return newValue;
     }
 
     @Override
@@ -56,7 +100,8 @@ final class InMemoryCache<K, V> implements Cache<K, V> {
     @SuppressWarnings("unchecked")
     @Override
     public final <RV> RV getAs(K key, RV defaultValue) {
-        return (RV) (contains(key) ? mCacheMap.get(key) : defaultValue);
+        final V value = mCacheMap.get(key);
+        return ((value != null) ? (RV) value : defaultValue);
     }
 
     @Override
@@ -66,7 +111,8 @@ final class InMemoryCache<K, V> implements Cache<K, V> {
 
     @Override
     public final V remove(K key, V defaultValue) {
-        return (contains(key) ? mCacheMap.remove(key) : defaultValue);
+        final V value = mCacheMap.remove(key);
+        return ((value != null) ? value : defaultValue);
     }
 
     @Override
@@ -77,7 +123,8 @@ final class InMemoryCache<K, V> implements Cache<K, V> {
     @SuppressWarnings("unchecked")
     @Override
     public final <RV> RV removeAs(K key, RV defaultValue) {
-        return (RV) (contains(key) ? mCacheMap.remove(key) : defaultValue);
+        final V value = mCacheMap.remove(key);
+        return ((value != null) ? (RV) value : defaultValue);
     }
 
     @Override
@@ -0,0 +1,618 @@
+/*
+ * Copyright 2017 Arthur Ivanets, arthur.ivanets.work@gmail.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.example.videoplayerusingmedia3.util.cache;
+
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Process;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.example.videoplayerusingmedia3.model.PlaybackInfo;
+import com.example.videoplayerusingmedia3.model.VolumeInfo;
+import com.example.videoplayerusingmedia3.util.misc.Preconditions;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A disk-persistent implementation of the {@link Cache} of the {@link PlaybackInfo}s, which keeps the {@link PlaybackInfo}s
+ * in the fixed-size records of a memory-mapped file, so that they survive the process death.
+ * <br>
+ * All the reads and writes are served by the in-memory cache in front of the file (so the hits cost
+ * as much as the in-memory cache does), while the file is only read upon the in-memory misses
+ * and written to in the background (write-behind, see {@link #WRITE_BEHIND_DELAY}).
+ * <br>
+ * The file is laid out as a header followed by a fixed number of the records:
+ * <pre>
+ * header: | magic (4) | version (4) | record size (4) | capacity (4) | cursor (4) | checksum (4) | reserved (8) |
+ * record: | key hash (8) | position (8) | duration (8) | volume (4) | flags (1) | reserved (3) | checksum (4) | reserved (4) |
+ * </pre>
+ * Both the header and every record carry their own checksums, and the records are always flushed to the disk
+ * before the header, so a crash in the middle of a flush costs at most the records being written at the time
+ * (which fail the checksum validation upon the next load and get ignored).
+ * <br>
+ * The records are identified by the 64-bit hashes of the keys (see {@link PlaybackInfoCache#hashKey(String)}),
+ * and once all of them are taken, the new ones take over the records in the order they were first taken in.
+ * <br>
+ * The file is only ever modified on the dedicated I/O thread, while the lock only guards the record index
+ * (and the records it refers to) against the concurrent reads, so the disk syncs never block the readers.
+ */
+final class MappedPlaybackInfoCache implements Cache<String, PlaybackInfo> {
+
+    private static final String TAG = "MappedPlaybackInfoCache";
+
+    /**
+     * The delay (in millis) after which the pending writes are flushed to the disk.
+     */
+    static final long WRITE_BEHIND_DELAY = 1_000L;
+
+    static final int MAGIC = 0x41525649;
+    /**
+     * The version of the file format, which also covers the key hash function (see {@link PlaybackInfoCache#hashKey(String)}):
+     * the files of the other versions are wiped upon the load.
+     */
+    static final int VERSION = 3;
+
+    static final int HEADER_SIZE = 32;
+    static final int HEADER_OFFSET_MAGIC = 0;
+    static final int HEADER_OFFSET_VERSION = 4;
+    static final int HEADER_OFFSET_RECORD_SIZE = 8;
+    static final int HEADER_OFFSET_CAPACITY = 12;
+    static final int HEADER_OFFSET_CURSOR = 16;
+    static final int HEADER_OFFSET_CHECKSUM = 20;
+
+    static final int RECORD_SIZE = 40;
+    static final int RECORD_OFFSET_KEY_HASH = 0;
+    static final int RECORD_OFFSET_POSITION = 8;
+    static final int RECORD_OFFSET_DURATION = 16;
+    static final int RECORD_OFFSET_VOLUME = 24;
+    static final int RECORD_OFFSET_FLAGS = 28;
+    static final int RECORD_OFFSET_CHECKSUM = 32;
+
+    static final byte FLAG_VALID = 1;
+    static final byte FLAG_ENDED = (1 << 1);
+    static final byte FLAG_MUTED = (1 << 2);
+
+    /**
+     * The marker of the removed entries within the pending writes.
+     */
+    private static final Object REMOVED = new Object();
+
+    private final File mFile;
+
+    private final int mCapacity;
+
+    private final Cache<String, PlaybackInfo> mCache;
+
+    private final Map<String, Object> mPendingWrites;
+
+    private final Object mLock;
+
+    /**
+     * The record index (key hash to record slot), guarded by the {@link #mLock}.
+     */
+    private final Map<Long, Integer> mSlotIndex;
+
+    /**
+     * The mapped file (or <strong>null</strong> if it's not loaded (yet)), published under the {@link #mLock}.
+     */
+    private MappedByteBuffer mBuffer;
+
+    /**
+     * The slot to be taken by the next new record (only accessed on the I/O thread).
+     */
+    private int mCursor;
+
+    private final Handler mHandler;
+    private final Runnable mFlushTask;
+    private final AtomicBoolean mIsFlushScheduled;
+
+    /**
+     * @param file     the file to keep the records in
+     * @param capacity the maximum number of the records
+     * @param cache    the in-memory cache to serve the reads and writes with
+     */
+    MappedPlaybackInfoCache(@NonNull File file, int capacity, @NonNull Cache<String, PlaybackInfo> cache) {
+        Preconditions.isTrue("You must specify a valid Capacity.", (capacity > 0));
+
+        mFile = Preconditions.checkNonNull(file);
+        mCapacity = capacity;
+        mCache = Preconditions.checkNonNull(cache);
+        mPendingWrites = new ConcurrentHashMap<>();
+        mLock = new Object();
+        mSlotIndex = new HashMap<>();
+        mCursor = 0;
+        mFlushTask = this::flushPendingWrites;
+        mIsFlushScheduled = new AtomicBoolean(false);
+
+        final HandlerThread ioThread = new HandlerThread("ArviPlaybackInfoStore", Process.THREAD_PRIORITY_BACKGROUND);
+        ioThread.start();
+
+        mHandler = new Handler(ioThread.getLooper());
+
+        // (the misses that happen before the file is loaded are served by the in-memory cache only)
+        mHandler.post(this::load);
+    }
+
+    @Override
+    public final PlaybackInfo put(String key, PlaybackInfo value) {
+        final PlaybackInfo oldValue = mCache.put(key, value);
+        scheduleWrite(key, value);
+
+        return oldValue;
+    }
+
+    @Override
+    public final PlaybackInfo get(String key) {
+        return get(key, null);
+    }
+
+    @Override
+    public final PlaybackInfo get(String key, PlaybackInfo defaultValue) {
+        final PlaybackInfo value = mCache.get(key);
+
+        if (value != null) {
+            return value;
+        }
+
+        final PlaybackInfo persistedValue = getOrLoad(key);
+        return ((persistedValue != null) ? persistedValue : defaultValue);
+    }
+
+    @Override
+    public final PlaybackInfo getOrCompute(String key, @NonNull Factory<String, PlaybackInfo> factory) {
+        final PlaybackInfo value = get(key);
+
+        if (value != null) {
+            return value;
+        }
+
+        final PlaybackInfo newValue = mCache.getOrCompute(key, factory);
+        scheduleWrite(key, newValue);
+
+        return newValue;
+    }
+
+    @Override
+    public final PlaybackInfo compute(String key, @NonNull Remapper<String, PlaybackInfo> remapper) {
+        // making sure the remapping is based on the persisted value (if it's not in memory yet)
+        getOrLoad(key);
+
+        final PlaybackInfo newValue = mCache.compute(key, remapper);
+        scheduleWrite(key, newValue);
+
+        return newValue;
+    }
+
+    @Override
+    public final PlaybackInfo computeIfPresent(String key, @NonNull Remapper<String, PlaybackInfo> remapper) {
+        if (getOrLoad(key) == null) {
+            return null;
+        }
+
+        final PlaybackInfo newValue = mCache.computeIfPresent(key, remapper);
+        scheduleWrite(key, newValue);
+
+        return newValue;
+    }
+
+    @Override
+    public final <RV> RV getAs(String key) {
+        return getAs(key, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public final <RV> RV getAs(String key, RV defaultValue) {
+        final PlaybackInfo value = get(key);
+        return ((value != null) ? (RV) value : defaultValue);
+    }
+
+    @Override
+    public final PlaybackInfo remove(String key) {
+        return remove(key, null);
+    }
+
+    @Override
+    public final PlaybackInfo remove(String key, PlaybackInfo defaultValue) {
+        PlaybackInfo value = mCache.remove(key);
+
+        if (value == null) {
+            value = loadPersisted(key);
+        }
+
+        scheduleWrite(key, null);
+
+        return ((value != null) ? value : defaultValue);
+    }
+
+    @Override
+    public final <RV> RV removeAs(String key) {
+        return removeAs(key, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public final <RV> RV removeAs(String key, RV defaultValue) {
+        final PlaybackInfo value = remove(key);
+        return ((value != null) ? (RV) value : defaultValue);
+    }
+
+    @Override
+    public final boolean contains(String key) {
+        if (mCache.contains(key)) {
+            return true;
+        }
+
+        if (key == null) {
+            return false;
+        }
+
+        // the pending writes are more recent than the persisted records
+        final Object pendingValue = mPendingWrites.get(key);
+
+        if (pendingValue != null) {
+            return (pendingValue != REMOVED);
+        }
+
+        synchronized (mLock) {
+            return ((mBuffer != null) && mSlotIndex.containsKey(PlaybackInfoCache.hashKey(key)));
+        }
+    }
+
+    @Override
+    public final boolean clear() {
+        mCache.clear();
+        mPendingWrites.clear();
+        mHandler.post(this::wipe);
+
+        return true;
+    }
+
+    /**
+     * Flushes the pending writes to the disk as soon as possible (asynchronously).
+     */
+    final void flush() {
+        mIsFlushScheduled.set(true);
+        mHandler.removeCallbacks(mFlushTask);
+        mHandler.post(mFlushTask);
+    }
+
+    /**
+     * Retrieves the in-memory value, or loads the persisted one into the memory (if there's any).
+     */
+    private PlaybackInfo getOrLoad(String key) {
+        final PlaybackInfo value = mCache.get(key);
+
+        if (value != null) {
+            return value;
+        }
+
+        final PlaybackInfo persistedValue = loadPersisted(key);
+
+        // (the value might have been put concurrently, in which case it takes precedence over the persisted one)
+        return ((persistedValue != null) ? mCache.getOrCompute(key, k -> persistedValue) : null);
+    }
+
+    /**
+     * Retrieves the value that is pending the write (if there's any), or loads the persisted one otherwise.
+     * (The in-memory cache might have dropped the value that is yet to be flushed, in which case the persisted one is stale)
+     */
+    @Nullable
+    private PlaybackInfo loadPersisted(String key) {
+        if (key == null) {
+            return null;
+        }
+
+        final Object pendingValue = mPendingWrites.get(key);
+
+        if (pendingValue == REMOVED) {
+            return null;
+        }
+
+        return ((pendingValue != null) ? (PlaybackInfo) pendingValue : loadRecord(key));
+    }
+
+    private void scheduleWrite(String key, @Nullable PlaybackInfo value) {
+        if (key == null) {
+            return;
+        }
+
+        mPendingWrites.put(key, ((value != null) ? value : REMOVED));
+
+        if (mIsFlushScheduled.compareAndSet(false, true)) {
+            mHandler.postDelayed(mFlushTask, WRITE_BEHIND_DELAY);
+        }
+    }
+
+    private void flushPendingWrites() {
+        mIsFlushScheduled.set(false);
+
+        boolean isModified = false;
+
+        synchronized (mLock) {
+            if (mBuffer == null) {
+                // the file couldn't be loaded, so there's nowhere to persist the values to
+                mPendingWrites.clear();
+                return;
+            }
+
+            final Iterator<Map.Entry<String, Object>> iterator = mPendingWrites.entrySet().iterator();
+
+            while (iterator.hasNext()) {
+                final Map.Entry<String, Object> entry = iterator.next();
+                final Object value = entry.getValue();
+
+                // (the values written concurrently are flushed by the subsequent flush)
+                mPendingWrites.remove(entry.getKey(), value);
+
+                if (value == REMOVED) {
+                    isModified |= removeRecord(PlaybackInfoCache.hashKey(entry.getKey()));
+                } else {
+                    writeRecord(PlaybackInfoCache.hashKey(entry.getKey()), (PlaybackInfo) value);
+                    isModified = true;
+                }
+            }
+        }
+
+        // (the file is only modified on this thread, so the lock isn't held while syncing it)
+        if (isModified) {
+            // the records go to the disk before the header, so that the header never refers to the unwritten records
+            mBuffer.force();
+            writeHeader(mBuffer, mCapacity, mCursor);
+            mBuffer.force();
+        }
+    }
+
+    private void load() {
+        final long fileSize = (HEADER_SIZE + ((long) mCapacity * RECORD_SIZE));
+        final MappedByteBuffer buffer;
+        final boolean isCompatible;
+
+        try (RandomAccessFile file = new RandomAccessFile(mFile, "rw")) {
+            final boolean isNewFile = (file.length() != fileSize);
+
+            file.setLength(fileSize);
+
+            // (the mapping remains valid after the file is closed)
+            buffer = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0L, fileSize);
+            isCompatible = (!isNewFile && isHeaderCompatible(buffer, mCapacity));
+        } catch (IOException exception) {
+            Log.e(TAG, ("Failed to load the PlaybackInfo store: " + exception.getLocalizedMessage()));
+            return;
+        }
+
+        if (!isCompatible) {
+            synchronized (mLock) {
+                mBuffer = buffer;
+            }
+
+            wipe();
+            return;
+        }
+
+        // (the buffer is indexed before it gets published, so the lock isn't needed yet)
+        final Map<Long, Integer> slotIndex = new HashMap<>();
+
+        for (int slot = 0; slot < mCapacity; slot++) {
+            final int offset = getRecordOffset(slot);
+
+            if (isRecordValid(buffer, offset)) {
+                slotIndex.put(buffer.getLong(offset + RECORD_OFFSET_KEY_HASH), slot);
+            }
+        }
+
+        // the cursor is only lost if the header write has been interrupted, in which case the records are reused from the start
+        mCursor = (isHeaderValid(buffer, mCapacity) ? buffer.getInt(HEADER_OFFSET_CURSOR) : 0);
+
+        synchronized (mLock) {
+            mSlotIndex.putAll(slotIndex);
+            mBuffer = buffer;
+        }
+    }
+
+    private void wipe() {
+        final MappedByteBuffer buffer;
+
+        synchronized (mLock) {
+            mSlotIndex.clear();
+            buffer = mBuffer;
+        }
+
+        mCursor = 0;
+
+        if (buffer == null) {
+            return;
+        }
+
+        // (the records are no longer indexed, so they cannot be read concurrently)
+        for (int offset = HEADER_SIZE; offset < buffer.capacity(); offset += 8) {
+            buffer.putLong(offset, 0L);
+        }
+
+        buffer.force();
+        writeHeader(buffer, mCapacity, mCursor);
+        buffer.force();
+    }
+
+    @Nullable
+    private PlaybackInfo loadRecord(String key) {
+        if (key == null) {
+            return null;
+        }
+
+        synchronized (mLock) {
+            if (mBuffer == null) {
+                return null;
+            }
+
+            final Integer slot = mSlotIndex.get(PlaybackInfoCache.hashKey(key));
+
+            if (slot == null) {
+                return null;
+            }
+
+            final int offset = getRecordOffset(slot);
+
+            if (!isRecordValid(mBuffer, offset)) {
+                return null;
+            }
+
+            final byte flags = mBuffer.get(offset + RECORD_OFFSET_FLAGS);
+
+            return new PlaybackInfo()
+                .setPlaybackPosition(mBuffer.getLong(offset + RECORD_OFFSET_POSITION))
+                .setDuration(mBuffer.getLong(offset + RECORD_OFFSET_DURATION))
+                .setVolumeInfo(new VolumeInfo(
+                    mBuffer.getFloat(offset + RECORD_OFFSET_VOLUME),
+                    ((flags & FLAG_MUTED) != 0)
+                ))
+                .setEnded((flags & FLAG_ENDED) != 0);
+        }
+    }
+
+    private void writeRecord(long keyHash, PlaybackInfo value) {
+        Integer slot = mSlotIndex.get(keyHash);
+
+        if (slot == null) {
+            slot = mCursor;
+            mCursor = ((mCursor + 1) % mCapacity);
+
+            // taking over the record (if it's taken)
+            final int offset = getRecordOffset(slot);
+
+            if (isRecordValid(mBuffer, offset)) {
+                mSlotIndex.remove(mBuffer.getLong(offset + RECORD_OFFSET_KEY_HASH));
+            }
+
+            mSlotIndex.put(keyHash, slot);
+        }
+
+        final VolumeInfo volumeInfo = value.getVolumeInfo();
+        final byte flags = (byte) (FLAG_VALID
+            | (value.isEnded() ? FLAG_ENDED : 0)
+            | (volumeInfo.isMuted() ? FLAG_MUTED : 0));
+
+        writeRecord(
+            mBuffer,
+            getRecordOffset(slot),
+            keyHash,
+            value.getPlaybackPosition(),
+            value.getDuration(),
+            volumeInfo.getVolume(),
+            flags
+        );
+    }
+
+    static void writeRecord(ByteBuffer buffer, int offset, long keyHash, long position, long duration, float volume, byte flags) {
+        buffer.putLong(offset + RECORD_OFFSET_KEY_HASH, keyHash);
+        buffer.putLong(offset + RECORD_OFFSET_POSITION, position);
+        buffer.putLong(offset + RECORD_OFFSET_DURATION, duration);
+        buffer.putFloat(offset + RECORD_OFFSET_VOLUME, volume);
+        buffer.put(offset + RECORD_OFFSET_FLAGS, flags);
+        buffer.putInt(offset + RECORD_OFFSET_CHECKSUM, getRecordChecksum(buffer, offset));
+    }
+
+    private boolean removeRecord(long keyHash) {
+        final Integer slot = mSlotIndex.remove(keyHash);
+
+        if (slot == null) {
+            return false;
+        }
+
+        final int offset = getRecordOffset(slot);
+
+        mBuffer.put(offset + RECORD_OFFSET_FLAGS, (byte) 0);
+        mBuffer.putInt(offset + RECORD_OFFSET_CHECKSUM, getRecordChecksum(mBuffer, offset));
+
+        return true;
+    }
+
+    static int getRecordOffset(int slot) {
+        return (HEADER_SIZE + (slot * RECORD_SIZE));
+    }
+
+    static boolean isRecordValid(ByteBuffer buffer, int offset) {
+        return (((buffer.get(offset + RECORD_OFFSET_FLAGS) & FLAG_VALID) != 0)
+            && (buffer.getInt(offset + RECORD_OFFSET_CHECKSUM) == getRecordChecksum(buffer, offset)));
+    }
+
+    private static int getRecordChecksum(ByteBuffer buffer, int offset) {
+        final int prime = 31;
+        int result = 17;
+        result = ((result * prime) + hash(buffer.getLong(offset + RECORD_OFFSET_KEY_HASH)));
+        result = ((result * prime) + hash(buffer.getLong(offset + RECORD_OFFSET_POSITION)));
+        result = ((result * prime) + hash(buffer.getLong(offset + RECORD_OFFSET_DURATION)));
+        result = ((result * prime) + buffer.getInt(offset + RECORD_OFFSET_VOLUME));
+        result = ((result * prime) + buffer.get(offset + RECORD_OFFSET_FLAGS));
+
+        return result;
+    }
+
+    static void writeHeader(ByteBuffer buffer, int capacity, int cursor) {
+        buffer.putInt(HEADER_OFFSET_MAGIC, MAGIC);
+        buffer.putInt(HEADER_OFFSET_VERSION, VERSION);
+        buffer.putInt(HEADER_OFFSET_RECORD_SIZE, RECORD_SIZE);
+        buffer.putInt(HEADER_OFFSET_CAPACITY, capacity);
+        buffer.putInt(HEADER_OFFSET_CURSOR, cursor);
+        buffer.putInt(HEADER_OFFSET_CHECKSUM, getHeaderChecksum(buffer));
+    }
+
+    static boolean isHeaderCompatible(ByteBuffer buffer, int capacity) {
+        return ((buffer.getInt(HEADER_OFFSET_MAGIC) == MAGIC)
+            && (buffer.getInt(HEADER_OFFSET_VERSION) == VERSION)
+            && (buffer.getInt(HEADER_OFFSET_RECORD_SIZE) == RECORD_SIZE)
+            && (buffer.getInt(HEADER_OFFSET_CAPACITY) == capacity));
+    }
+
+    static boolean isHeaderValid(ByteBuffer buffer, int capacity) {
+        final int cursor = buffer.getInt(HEADER_OFFSET_CURSOR);
+
+        return ((buffer.getInt(HEADER_OFFSET_CHECKSUM) == getHeaderChecksum(buffer))
+            && (cursor >= 0)
+            && (cursor < capacity));
+    }
+
+    private static int getHeaderChecksum(ByteBuffer buffer) {
+        final int prime = 31;
+        int result = 17;
+        result = ((result * prime) + buffer.getInt(HEADER_OFFSET_MAGIC));
+        result = ((result * prime) + buffer.getInt(HEADER_OFFSET_VERSION));
+        result = ((result * prime) + buffer.getInt(HEADER_OFFSET_RECORD_SIZE));
+        result = ((result * prime) + buffer.getInt(HEADER_OFFSET_CAPACITY));
+        result = ((result * prime) + buffer.getInt(HEADER_OFFSET_CURSOR));
+
+        return result;
+    }
+
+    private static int hash(long value) {
+        return (int) (value ^ (value >>> 32));
+    }
+
+}
@@ -16,19 +16,38 @@
 
 package com.example.videoplayerusingmedia3.util.cache;
 
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
 import com.example.videoplayerusingmedia3.player.Player;
 import com.example.videoplayerusingmedia3.model.PlaybackInfo;
+import com.example.videoplayerusingmedia3.util.misc.Preconditions;
 
 
 /**
  * An implementation of {@link Cache} used for the management of the {@link Player}'s {@link PlaybackInfo}.
+ * <br>
+ * Unbounded and in-memory only by default; the bounds (along with the eviction listener) and the persistence
+ * can be set via the {@link #setPolicy(PlaybackInfoCachePolicy)}.
  */
 public final class PlaybackInfoCache implements Cache<String, PlaybackInfo> {
 
+    /**
+     * The approximate size (in bytes) of a single entry, excluding the key characters:
+     * the {@link PlaybackInfo} and {@link com.example.videoplayerusingmedia3.model.VolumeInfo} objects,
+     * the key String object and its backing array, and the hash map entry.
+     */
+    static final long ENTRY_OVERHEAD_BYTES = 160L;
+
+    private static volatile PlaybackInfoCachePolicy sPolicy = PlaybackInfoCachePolicy.UNBOUNDED;
+
     private static volatile PlaybackInfoCache sInstance;
 
     private final Cache<String, PlaybackInfo> mCache;
 
+    @Nullable
+    private final MappedPlaybackInfoCache mPersistentCache;
+
     /**
      * Lazily creates an instance of the {@link PlaybackInfoCache} (if necessary).
      *
@@ -46,8 +65,95 @@ public final class PlaybackInfoCache implements Cache<String, PlaybackInfo> {
         return sInstance;
     }
 
+    /**
+     * Sets the {@link PlaybackInfoCachePolicy} to be used by the {@link PlaybackInfoCache}.
+     * Must be called before the {@link PlaybackInfoCache} is first accessed (e.g. in the {@link android.app.Application#onCreate()}),
+     * otherwise fails with an {@link IllegalStateException}.
+     *
+     * @param policy the policy to be used
+     */
+    public static void setPolicy(@NonNull PlaybackInfoCachePolicy policy) {
+        Preconditions.nonNull(policy);
+
+        synchronized (PlaybackInfoCache.class) {
+            if (sInstance != null) {
+                throw new IllegalStateException("The PlaybackInfoCache Policy can not be changed anymore.");
+            }
+
+            sPolicy = policy;
+        }
+    }
+
+    /**
+     * Retrieves the {@link PlaybackInfoCachePolicy} used by the {@link PlaybackInfoCache}.
+     *
+     * @return the current policy
+     */
+    @NonNull
+    public static PlaybackInfoCachePolicy getPolicy() {
+        return sPolicy;
+    }
+
     private PlaybackInfoCache() {
-        mCache = CacheType.IN_MEMORY.create(true);
+        final PlaybackInfoCachePolicy policy = sPolicy;
+        final Cache<String, PlaybackInfo> memoryCache;
+
+        if (policy.isCompact) {
+            memoryCache = new CompactPlaybackInfoCache();
+        } else if (policy.isBounded()) {
+            // (the LRU ordering is updated on every access, so the bounded cache can't provide the non-blocking reads)
+            memoryCache = new BoundedCache<>(
+                policy.maxSize,
+                policy.maxBytes,
+                PlaybackInfoCache::estimateEntrySize,
+                policy.evictionListener
+            );
+        } else {
+            // (accessed from the main thread as well as from the player callbacks, hence the non-blocking reads)
+            memoryCache = CacheType.CONCURRENT_IN_MEMORY.create(true);
+        }
+
+        if (policy.isPersistent()) {
+            mPersistentCache = new MappedPlaybackInfoCache(policy.persistenceFile, policy.persistenceCapacity, memoryCache);
+            mCache = mPersistentCache;
+        } else {
+            mPersistentCache = null;
+            mCache = memoryCache;
+        }
+    }
+
+    /**
+     * Flushes the pending writes of the persisted {@link PlaybackInfo}s to the disk as soon as possible (asynchronously),
+     * instead of waiting for the regular write-behind delay (e.g. when the application goes to the background).
+     * (Does nothing if the persistence is disabled)
+     */
+    public final void flush() {
+        if (mPersistentCache != null) {
+            mPersistentCache.flush();
+        }
+    }
+
+    /**
+     * Computes the 64-bit (FNV-1a) hash of the key, used by the storages that don't retain the keys themselves.
+     * <br>
+     * The hash is the only identity of the key within such storages (a collision silently yields the PlaybackInfo of another key),
+     * so it's computed over all the characters of the key, rather than derived from the 32-bit {@link String#hashCode()}.
+     * (The probability of a collision between any two keys is about 2<sup>-64</sup>;
+     * the persisted hashes depend on this function, see {@link MappedPlaybackInfoCache#VERSION})
+     */
+    static long hashKey(@NonNull String key) {
+        long hash = 0xcbf29ce484222325L;
+
+        for (int i = 0, length = key.length(); i < length; i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+
+        return hash;
+    }
+
+    private static long estimateEntrySize(String key, PlaybackInfo value) {
+        return (ENTRY_OVERHEAD_BYTES + ((key != null) ? (2L * key.length()) : 0L));
     }
 
     @Override
@@ -65,6 +171,21 @@ public final class PlaybackInfoCache implements Cache<String, PlaybackInfo> {
         return mCache.get(key, defaultValue);
     }
 
+    @Override
+    public final PlaybackInfo getOrCompute(String key, @NonNull Factory<String, PlaybackInfo> factory) {
+        return mCache.getOrCompute(key, factory);
+    }
+
+    @Override
+    public final PlaybackInfo compute(String key, @NonNull Remapper<String, PlaybackInfo> remapper) {
+        return mCache.compute(key, remapper);
+    }
+
+    @Override
+    public final PlaybackInfo computeIfPresent(String key, @NonNull Remapper<String, PlaybackInfo> remapper) {
+        return mCache.computeIfPresent(key, remapper);
+    }
+
     @Override
     public final <RV> RV getAs(String key) {
         return mCache.getAs(key);
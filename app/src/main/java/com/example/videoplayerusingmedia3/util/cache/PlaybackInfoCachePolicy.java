@@ -0,0 +1,184 @@
+/*
+ * Copyright 2017 Arthur Ivanets, arthur.ivanets.work@gmail.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.example.videoplayerusingmedia3.util.cache;
+
+import androidx.annotation.Nullable;
+
+import com.example.videoplayerusingmedia3.model.PlaybackInfo;
+import com.example.videoplayerusingmedia3.util.misc.Preconditions;
+
+import java.io.File;
+
+/**
+ * Defines the bounds of the {@link PlaybackInfoCache}: the maximum number of the entries and the maximum
+ * approximate size of the entries (in bytes), beyond which the least recently used entries get evicted,
+ * as well as the listener of such evictions (e.g. to persist the evicted {@link PlaybackInfo}s the app still cares about).
+ * <br>
+ * Both bounds default to <strong>0</strong>, which means "no limit", so the default policy keeps the cache unbounded.
+ * <br>
+ * Additionally, defines the file the {@link PlaybackInfo}s are persisted to (so that they survive the process death),
+ * if any. (The bounds only apply to the in-memory entries, while the number of the persisted ones
+ * is bounded by the {@link Builder#persistenceCapacity(int)})
+ * <br>
+ * Finally, defines whether the in-memory entries are kept in the compact primitive storage (see {@link Builder#compact(boolean)}).
+ */
+public final class PlaybackInfoCachePolicy {
+
+    /**
+     * The unbounded policy (the default one).
+     */
+    public static final PlaybackInfoCachePolicy UNBOUNDED = new Builder().build();
+
+    /**
+     * The default maximum number of the persisted {@link PlaybackInfo}s.
+     */
+    public static final int DEFAULT_PERSISTENCE_CAPACITY = 4096;
+
+    public final int maxSize;
+
+    public final long maxBytes;
+
+    @Nullable
+    public final Cache.EvictionListener<String, PlaybackInfo> evictionListener;
+
+    @Nullable
+    public final File persistenceFile;
+
+    public final int persistenceCapacity;
+
+    public final boolean isCompact;
+
+    private PlaybackInfoCachePolicy(int maxSize,
+                                    long maxBytes,
+                                    @Nullable Cache.EvictionListener<String, PlaybackInfo> evictionListener,
+                                    @Nullable File persistenceFile,
+                                    int persistenceCapacity,
+                                    boolean isCompact) {
+        this.maxSize = maxSize;
+        this.maxBytes = maxBytes;
+        this.evictionListener = evictionListener;
+        this.persistenceFile = persistenceFile;
+        this.persistenceCapacity = persistenceCapacity;
+        this.isCompact = isCompact;
+    }
+
+    /**
+     * Determines if either of the bounds is set.
+     */
+    public final boolean isBounded() {
+        return ((this.maxSize > 0) || (this.maxBytes > 0L));
+    }
+
+    /**
+     * Determines if the {@link PlaybackInfo}s are persisted to the disk.
+     */
+    public final boolean isPersistent() {
+        return (this.persistenceFile != null);
+    }
+
+
+    public static final class Builder {
+
+        private int maxSize;
+        private long maxBytes;
+        private Cache.EvictionListener<String, PlaybackInfo> evictionListener;
+        private File persistenceFile;
+        private int persistenceCapacity;
+        private boolean isCompact;
+
+        public Builder() {
+            this.maxSize = 0;
+            this.maxBytes = 0L;
+            this.evictionListener = null;
+            this.persistenceFile = null;
+            this.persistenceCapacity = DEFAULT_PERSISTENCE_CAPACITY;
+            this.isCompact = false;
+        }
+
+        /**
+         * Sets the maximum number of the {@link PlaybackInfo} entries.
+         * (<strong>0</strong> means no limit)
+         */
+        public Builder maxSize(int maxSize) {
+            this.maxSize = maxSize;
+            return this;
+        }
+
+        /**
+         * Sets the maximum approximate size of the {@link PlaybackInfo} entries (in bytes), keys included.
+         * (<strong>0</strong> means no limit)
+         */
+        public Builder maxBytes(long maxBytes) {
+            this.maxBytes = maxBytes;
+            return this;
+        }
+
+        /**
+         * Sets the listener to be notified of the entries evicted due to the bounds.
+         */
+        public Builder evictionListener(@Nullable Cache.EvictionListener<String, PlaybackInfo> evictionListener) {
+            this.evictionListener = evictionListener;
+            return this;
+        }
+
+        /**
+         * Sets the file to persist the {@link PlaybackInfo}s to (e.g. a file within the {@link android.content.Context#getFilesDir()}).
+         * (<strong>null</strong> disables the persistence)
+         */
+        public Builder persistenceFile(@Nullable File persistenceFile) {
+            this.persistenceFile = persistenceFile;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of the persisted {@link PlaybackInfo}s, beyond which the earliest persisted ones get overwritten.
+         * (Changing the capacity discards the already persisted {@link PlaybackInfo}s)
+         */
+        public Builder persistenceCapacity(int persistenceCapacity) {
+            this.persistenceCapacity = persistenceCapacity;
+            return this;
+        }
+
+        /**
+         * Sets whether the in-memory entries are to be kept in the parallel primitive arrays (instead of the
+         * {@link PlaybackInfo} objects and their String keys), which considerably reduces the retained heap of the large caches,
+         * at the expense of a {@link PlaybackInfo} allocation per read. (Can't be combined with the bounds)
+         */
+        public Builder compact(boolean isCompact) {
+            this.isCompact = isCompact;
+            return this;
+        }
+
+        public PlaybackInfoCachePolicy build() {
+            Preconditions.isTrue("You must specify a valid Max Size.", (this.maxSize >= 0));
+            Preconditions.isTrue("You must specify a valid Max Bytes.", (this.maxBytes >= 0L));
+            Preconditions.isTrue("You must specify a valid Persistence Capacity.", (this.persistenceCapacity > 0));
+            Preconditions.isTrue("The compact storage can not be bounded.", (!this.isCompact || ((this.maxSize == 0) && (this.maxBytes == 0L))));
+
+            return new PlaybackInfoCachePolicy(
+                this.maxSize,
+                this.maxBytes,
+                this.evictionListener,
+                this.persistenceFile,
+                this.persistenceCapacity,
+                this.isCompact
+            );
+        }
+
+    }
+
+}
@@ -1,7 +1,5 @@
 package com.example.videoplayerusingmedia3.util.misc;
 
-import android.text.TextUtils;
-
 import androidx.annotation.NonNull;
 import androidx.annotation.RestrictTo;
 
@@ -42,7 +40,7 @@ public final class Preconditions {
     }
 
     public static void nonEmpty(String string) {
-        if (TextUtils.isEmpty(string)) {
+        if ((string == null) || string.isEmpty()) {
             throw new IllegalArgumentException("You must specify a valid raw text.");
         }
     }
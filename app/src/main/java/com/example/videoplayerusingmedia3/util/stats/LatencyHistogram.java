@@ -0,0 +1,180 @@
+/*
+ * Copyright 2017 Arthur Ivanets, arthur.ivanets.work@gmail.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.example.videoplayerusingmedia3.util.stats;
+
+import androidx.annotation.FloatRange;
+import androidx.annotation.NonNull;
+
+import com.example.videoplayerusingmedia3.util.misc.Preconditions;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free latency histogram with the power-of-two microsecond buckets.
+ * (The bucket <strong>i</strong> holds the latencies that are less than <strong>2^i</strong> microseconds
+ * (and, for <strong>i &gt; 0</strong>, not less than <strong>2^(i-1)</strong> microseconds),
+ * while the last bucket holds everything that exceeds the range of the previous ones)
+ */
+public final class LatencyHistogram {
+
+    /**
+     * The number of the histogram buckets (the last one covers the latencies of 2^19 microseconds (~0.52 seconds) and above).
+     */
+    public static final int BUCKET_COUNT = 21;
+
+    private final AtomicLongArray buckets;
+    private final AtomicLong totalNanos;
+    private final AtomicLong maxNanos;
+
+    public LatencyHistogram() {
+        this.buckets = new AtomicLongArray(BUCKET_COUNT);
+        this.totalNanos = new AtomicLong();
+        this.maxNanos = new AtomicLong();
+    }
+
+    /**
+     * Records the specified latency.
+     *
+     * @param nanos the latency in nanoseconds
+     */
+    public final void record(long nanos) {
+        final long latency = Math.max(0L, nanos);
+        final int bucketIndex = Math.min((64 - Long.numberOfLeadingZeros(latency / 1000L)), (BUCKET_COUNT - 1));
+
+        this.buckets.incrementAndGet(bucketIndex);
+        this.totalNanos.addAndGet(latency);
+
+        long max;
+
+        do {
+            max = this.maxNanos.get();
+        } while ((latency > max) && !this.maxNanos.compareAndSet(max, latency));
+    }
+
+    /**
+     * Resets all the recorded latencies.
+     */
+    public final void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            this.buckets.set(i, 0L);
+        }
+
+        this.totalNanos.set(0L);
+        this.maxNanos.set(0L);
+    }
+
+    /**
+     * Creates the point-in-time {@link Snapshot} of the current histogram.
+     * (The snapshot is not atomic with respect to the concurrent recordings, but each of the buckets is consistent)
+     *
+     * @return the created snapshot
+     */
+    @NonNull
+    public final Snapshot snapshot() {
+        final long[] counts = new long[BUCKET_COUNT];
+
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = this.buckets.get(i);
+        }
+
+        return new Snapshot(counts, this.totalNanos.get(), this.maxNanos.get());
+    }
+
+    /**
+     * An immutable snapshot of the {@link LatencyHistogram}.
+     */
+    public static final class Snapshot {
+
+        private final long[] counts;
+        private final long count;
+        private final long totalNanos;
+        private final long maxNanos;
+
+        Snapshot(long[] counts, long totalNanos, long maxNanos) {
+            long count = 0L;
+
+            for (long bucketCount : counts) {
+                count += bucketCount;
+            }
+
+            this.counts = counts;
+            this.count = count;
+            this.totalNanos = totalNanos;
+            this.maxNanos = maxNanos;
+        }
+
+        /**
+         * Retrieves the number of the recorded latencies that fall into the specified bucket.
+         *
+         * @param bucketIndex the bucket index (see {@link #BUCKET_COUNT})
+         * @return the number of the latencies
+         */
+        public final long getBucketCount(int bucketIndex) {
+            Preconditions.isTrue("You must specify a valid Bucket Index.", ((bucketIndex >= 0) && (bucketIndex < BUCKET_COUNT)));
+            return this.counts[bucketIndex];
+        }
+
+        /**
+         * Retrieves the total number of the recorded latencies.
+         */
+        public final long getCount() {
+            return this.count;
+        }
+
+        /**
+         * Retrieves the mean latency (in nanoseconds).
+         */
+        public final long getMeanNanos() {
+            return ((this.count > 0L) ? (this.totalNanos / this.count) : 0L);
+        }
+
+        /**
+         * Retrieves the maximum recorded latency (in nanoseconds).
+         */
+        public final long getMaxNanos() {
+            return this.maxNanos;
+        }
+
+        /**
+         * Retrieves the upper bound (in microseconds) of the bucket the specified percentile falls into.
+         *
+         * @param percentile the percentile (a value between 0.0 and 1.0)
+         * @return the percentile latency upper bound in microseconds
+         */
+        public final long getPercentileMicros(@FloatRange(from = 0.0, to = 1.0) double percentile) {
+            if (this.count == 0L) {
+                return 0L;
+            }
+
+            final long threshold = (long) Math.ceil(this.count * Math.max(0.0, Math.min(percentile, 1.0)));
+            long cumulativeCount = 0L;
+
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                cumulativeCount += this.counts[i];
+
+                if ((cumulativeCount >= threshold) && (cumulativeCount > 0L)) {
+                    return ((i < (BUCKET_COUNT - 1)) ? (1L << i) : (this.maxNanos / 1000L));
+                }
+            }
+
+            return (this.maxNanos / 1000L);
+        }
+
+    }
+
+}
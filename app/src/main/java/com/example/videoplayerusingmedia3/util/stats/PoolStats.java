@@ -0,0 +1,154 @@
+/*
+ * Copyright 2017 Arthur Ivanets, arthur.ivanets.work@gmail.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.example.videoplayerusingmedia3.util.stats;
+
+import androidx.annotation.NonNull;
+
+import com.example.videoplayerusingmedia3.util.misc.Preconditions;
+
+/**
+ * An immutable snapshot of the Player Pool statistics, recorded by the {@link PoolStatsRecorder}.
+ */
+public final class PoolStats {
+
+    private final long getHitCount;
+    private final long freeReuseCount;
+    private final long oldestEvictionCount;
+    private final long creationCount;
+    private final long mediaHandOverCount;
+
+    private final LatencyHistogram.Snapshot acquisitionLatency;
+    private final LatencyHistogram.Snapshot initLatency;
+
+    private final long providerInitNanos;
+    private final long timeToFirstAcquisitionNanos;
+
+    PoolStats(long getHitCount,
+              long freeReuseCount,
+              long oldestEvictionCount,
+              long creationCount,
+              long mediaHandOverCount,
+              @NonNull LatencyHistogram.Snapshot acquisitionLatency,
+              @NonNull LatencyHistogram.Snapshot initLatency,
+              long providerInitNanos,
+              long timeToFirstAcquisitionNanos) {
+        this.getHitCount = getHitCount;
+        this.freeReuseCount = freeReuseCount;
+        this.oldestEvictionCount = oldestEvictionCount;
+        this.creationCount = creationCount;
+        this.mediaHandOverCount = mediaHandOverCount;
+        this.acquisitionLatency = Preconditions.checkNonNull(acquisitionLatency);
+        this.initLatency = Preconditions.checkNonNull(initLatency);
+        this.providerInitNanos = providerInitNanos;
+        this.timeToFirstAcquisitionNanos = timeToFirstAcquisitionNanos;
+    }
+
+    /**
+     * Retrieves the number of the Player acquisitions served by the Player already bound to the key.
+     */
+    public final long getGetHitCount() {
+        return this.getHitCount;
+    }
+
+    /**
+     * Retrieves the number of the Player acquisitions served by a free (unbound) Player.
+     */
+    public final long getFreeReuseCount() {
+        return this.freeReuseCount;
+    }
+
+    /**
+     * Retrieves the number of the Player acquisitions served by taking over the oldest bound Player.
+     */
+    public final long getOldestEvictionCount() {
+        return this.oldestEvictionCount;
+    }
+
+    /**
+     * Retrieves the number of the Player acquisitions served by a brand-new Player.
+     */
+    public final long getCreationCount() {
+        return this.creationCount;
+    }
+
+    /**
+     * Retrieves the number of the Player acquisitions served by the Player handed over from a different key bound to the same media.
+     */
+    public final long getMediaHandOverCount() {
+        return this.mediaHandOverCount;
+    }
+
+    /**
+     * Retrieves the total number of the Player acquisitions.
+     */
+    public final long getAcquisitionCount() {
+        return (this.getHitCount + this.freeReuseCount + this.oldestEvictionCount + this.creationCount + this.mediaHandOverCount);
+    }
+
+    /**
+     * Retrieves the latency histogram of the Player acquisitions
+     * ({@link com.example.videoplayerusingmedia3.PlayerProvider#getOrInitPlayer(String)} and the like).
+     */
+    @NonNull
+    public final LatencyHistogram.Snapshot getAcquisitionLatency() {
+        return this.acquisitionLatency;
+    }
+
+    /**
+     * Retrieves the latency histogram of the Player initializations
+     * ({@link com.example.videoplayerusingmedia3.player.Player#init()}).
+     */
+    @NonNull
+    public final LatencyHistogram.Snapshot getInitLatency() {
+        return this.initLatency;
+    }
+
+    /**
+     * Retrieves the time (in nanoseconds) spent on the creation of the {@link com.example.videoplayerusingmedia3.PlayerProvider},
+     * or <strong>-1</strong> if it hasn't been created yet.
+     */
+    public final long getProviderInitNanos() {
+        return this.providerInitNanos;
+    }
+
+    /**
+     * Retrieves the time (in nanoseconds) between the start of the process (or the creation of the {@link com.example.videoplayerusingmedia3.PlayerProvider}
+     * prior to Android N) and the first Player acquisition, or <strong>-1</strong> if no Player has been acquired yet.
+     */
+    public final long getTimeToFirstAcquisitionNanos() {
+        return this.timeToFirstAcquisitionNanos;
+    }
+
+    @NonNull
+    @Override
+    public final String toString() {
+        return ("PoolStats{"
+            + "getHits=" + this.getHitCount
+            + ", freeReuses=" + this.freeReuseCount
+            + ", oldestEvictions=" + this.oldestEvictionCount
+            + ", creations=" + this.creationCount
+            + ", mediaHandOvers=" + this.mediaHandOverCount
+            + ", acquisitionP50Us=" + this.acquisitionLatency.getPercentileMicros(0.5)
+            + ", acquisitionP99Us=" + this.acquisitionLatency.getPercentileMicros(0.99)
+            + ", initP50Us=" + this.initLatency.getPercentileMicros(0.5)
+            + ", initP99Us=" + this.initLatency.getPercentileMicros(0.99)
+            + ", providerInitUs=" + ((this.providerInitNanos >= 0L) ? (this.providerInitNanos / 1000L) : -1L)
+            + ", timeToFirstAcquisitionUs=" + ((this.timeToFirstAcquisitionNanos >= 0L) ? (this.timeToFirstAcquisitionNanos / 1000L) : -1L)
+            + "}");
+    }
+
+}
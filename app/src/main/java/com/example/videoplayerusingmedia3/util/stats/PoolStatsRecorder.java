@@ -0,0 +1,151 @@
+/*
+ * Copyright 2017 Arthur Ivanets, arthur.ivanets.work@gmail.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.example.videoplayerusingmedia3.util.stats;
+
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A process-wide recorder of the Player Pool statistics.
+ * All the recording methods are lock-free and can be safely called from any thread.
+ */
+public final class PoolStatsRecorder {
+
+    private static volatile PoolStatsRecorder sInstance;
+
+    private final AtomicLong mGetHitCount;
+    private final AtomicLong mFreeReuseCount;
+    private final AtomicLong mOldestEvictionCount;
+    private final AtomicLong mCreationCount;
+    private final AtomicLong mMediaHandOverCount;
+
+    private final LatencyHistogram mAcquisitionLatency;
+    private final LatencyHistogram mInitLatency;
+
+    private final AtomicLong mProviderInitNanos;
+    private final AtomicLong mTimeToFirstAcquisitionNanos;
+
+    /**
+     * Lazily creates an instance of the {@link PoolStatsRecorder} (if necessary).
+     *
+     * @return the instance of the {@link PoolStatsRecorder}
+     */
+    public static PoolStatsRecorder getInstance() {
+        if (sInstance == null) {
+            synchronized (PoolStatsRecorder.class) {
+                if (sInstance == null) {
+                    sInstance = new PoolStatsRecorder();
+                }
+            }
+        }
+
+        return sInstance;
+    }
+
+    private PoolStatsRecorder() {
+        mGetHitCount = new AtomicLong();
+        mFreeReuseCount = new AtomicLong();
+        mOldestEvictionCount = new AtomicLong();
+        mCreationCount = new AtomicLong();
+        mMediaHandOverCount = new AtomicLong();
+        mAcquisitionLatency = new LatencyHistogram();
+        mInitLatency = new LatencyHistogram();
+        mProviderInitNanos = new AtomicLong(-1L);
+        mTimeToFirstAcquisitionNanos = new AtomicLong(-1L);
+    }
+
+    public final void recordGetHit() {
+        mGetHitCount.incrementAndGet();
+    }
+
+    public final void recordFreeReuse() {
+        mFreeReuseCount.incrementAndGet();
+    }
+
+    public final void recordOldestEviction() {
+        mOldestEvictionCount.incrementAndGet();
+    }
+
+    public final void recordCreation() {
+        mCreationCount.incrementAndGet();
+    }
+
+    public final void recordMediaHandOver() {
+        mMediaHandOverCount.incrementAndGet();
+    }
+
+    public final void recordAcquisitionLatency(long nanos) {
+        mAcquisitionLatency.record(nanos);
+    }
+
+    public final void recordInitLatency(long nanos) {
+        mInitLatency.record(nanos);
+    }
+
+    /**
+     * Records the time spent on the creation of the {@link com.example.videoplayerusingmedia3.PlayerProvider}
+     * (only the first recording is kept).
+     */
+    public final void recordProviderInitLatency(long nanos) {
+        mProviderInitNanos.compareAndSet(-1L, nanos);
+    }
+
+    /**
+     * Records the time between the start of the process (or the creation of the {@link com.example.videoplayerusingmedia3.PlayerProvider}
+     * prior to Android N) and the first Player acquisition (only the first recording is kept).
+     */
+    public final void recordFirstAcquisition(long nanosSinceStartup) {
+        if (mTimeToFirstAcquisitionNanos.get() == -1L) {
+            mTimeToFirstAcquisitionNanos.compareAndSet(-1L, nanosSinceStartup);
+        }
+    }
+
+    /**
+     * Creates the {@link PoolStats} snapshot of the currently recorded statistics.
+     *
+     * @return the created snapshot
+     */
+    @NonNull
+    public final PoolStats snapshot() {
+        return new PoolStats(
+            mGetHitCount.get(),
+            mFreeReuseCount.get(),
+            mOldestEvictionCount.get(),
+            mCreationCount.get(),
+            mMediaHandOverCount.get(),
+            mAcquisitionLatency.snapshot(),
+            mInitLatency.snapshot(),
+            mProviderInitNanos.get(),
+            mTimeToFirstAcquisitionNanos.get()
+        );
+    }
+
+    /**
+     * Resets all the recorded statistics (except for the startup ones, as they are recorded only once).
+     */
+    public final void reset() {
+        mGetHitCount.set(0L);
+        mFreeReuseCount.set(0L);
+        mOldestEvictionCount.set(0L);
+        mCreationCount.set(0L);
+        mMediaHandOverCount.set(0L);
+        mAcquisitionLatency.reset();
+        mInitLatency.reset();
+    }
+
+}
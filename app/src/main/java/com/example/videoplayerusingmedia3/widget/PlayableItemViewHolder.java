@@ -33,9 +33,11 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.example.videoplayerusingmedia3.model.PlaybackInfo;
 import com.example.videoplayerusingmedia3.model.VolumeInfo;
 import com.example.videoplayerusingmedia3.player.Player;
+import com.example.videoplayerusingmedia3.util.cache.Cache;
 import com.example.videoplayerusingmedia3.util.cache.PlaybackInfoCache;
 import com.example.videoplayerusingmedia3.util.misc.ExoPlayerUtils;
 import com.example.videoplayerusingmedia3.Config;
+import com.example.videoplayerusingmedia3.PlayerProvider;
 import com.example.videoplayerusingmedia3.PlayerProviderImpl;
 
 /**
@@ -63,10 +65,18 @@ public abstract class PlayableItemViewHolder extends RecyclerView.ViewHolder imp
 
     private static final float DEFAULT_TRIGGER_OFFSET = 0.5f;
 
+    private static final Cache.Factory<String, PlaybackInfo> PLAYBACK_INFO_FACTORY = key -> new PlaybackInfo();
+
     public final ViewGroup mParentViewGroup;
     public final PlayerView mPlayerView;
     public boolean showInStreamVideoAds;
 
+    private String mKey;
+    private String mKeyVideoUrl;
+    private String mKeyTag;
+
+    private String mPendingStartKey;
+
     public PlayableItemViewHolder(ViewGroup parentViewGroup, View itemView) {
         super(itemView);
 
@@ -129,19 +139,60 @@ public abstract class PlayableItemViewHolder extends RecyclerView.ViewHolder imp
         onStateChanged(PlaybackState.STOPPED);
     }
 
-    private boolean startPlayer() {
-        // creating/updating the PlaybackInfo for this particular Playable
-        final PlaybackInfo playbackInfo = getPlaybackInfo();
-        final VolumeInfo volumeInfo = playbackInfo.getVolumeInfo();
+    /**
+     * Updates the state of the Playable whose {@link Player} is about to be paused in bulk by the container
+     * (see {@link PlayerProvider#pause(Config, java.util.Collection)}), which also takes care of the playback position.
+     */
+    final void onPausedInBulk() {
+        mPendingStartKey = null;
 
-        setPlaybackInfo(playbackInfo);
+        final Player player = getPlayer();
+
+        if (player != null) {
+            player.removeEventListener(this);
+        }
+
+        onStateChanged(PlaybackState.PAUSED);
+    }
+
+    /**
+     * Updates the state of the Playable whose {@link Player} is about to be unregistered in bulk by the container
+     * (see {@link PlayerProvider#unregister(Config, java.util.Collection)}), which also stops the Player and detaches it from the view.
+     */
+    final void onReleasedInBulk() {
+        mPendingStartKey = null;
+
+        removePlaybackInfo();
+        onStateChanged(PlaybackState.STOPPED);
+    }
+
+    private boolean startPlayer() {
+        // creating (if necessary) the PlaybackInfo for this particular Playable
+        final PlaybackInfo playbackInfo = PlaybackInfoCache.getInstance().getOrCompute(getKey(), PLAYBACK_INFO_FACTORY);
 
         // determining whether the current Playable should play this time
         final boolean shouldPlay = (isLooping() || !playbackInfo.isEnded() || canStartPlaying());
+        final String key = getKey();
+
+        // the Player is initialized asynchronously (so that the binding never blocks the main thread),
+        // while the Playable might get paused, stopped or re-bound in the meantime
+        mPendingStartKey = key;
+
+        getOrInitPlayerAsync(player -> {
+            if (key.equals(mPendingStartKey) && key.equals(getKey()) && (getPlayer() == player)) {
+                mPendingStartKey = null;
+                setUpPlayer(player, shouldPlay);
+            }
+        });
+
+        return shouldPlay;
+    }
+
+    private void setUpPlayer(Player player, boolean shouldPlay) {
+        final PlaybackInfo playbackInfo = getPlaybackInfo();
+        final VolumeInfo volumeInfo = playbackInfo.getVolumeInfo();
 
         // preparing the Player
-        final Player player = getOrInitPlayer();
-        player.init();
         player.attach(mPlayerView);
         player.getVolumeController().setVolume(volumeInfo.getVolume());
         player.getVolumeController().setMuted(volumeInfo.isMuted());
@@ -155,11 +206,11 @@ public abstract class PlayableItemViewHolder extends RecyclerView.ViewHolder imp
             player.prepare(false);
             player.play();
         }
-
-        return shouldPlay;
     }
 
     private void restartPlayer() {
+        mPendingStartKey = null;
+
         // updating the PlaybackInfo
         final PlaybackInfo playbackInfo = getPlaybackInfo();
         playbackInfo.setPlaybackPosition(0);
@@ -184,6 +235,8 @@ public abstract class PlayableItemViewHolder extends RecyclerView.ViewHolder imp
     }
 
     private void pausePlayer() {
+        mPendingStartKey = null;
+
         final Player player = getPlayer();
         final PlaybackInfo playbackInfo = getPlaybackInfo();
 
@@ -197,6 +250,8 @@ public abstract class PlayableItemViewHolder extends RecyclerView.ViewHolder imp
     }
 
     private void stopPlayer() {
+        mPendingStartKey = null;
+
         final PlaybackInfo playbackInfo = getPlaybackInfo();
         final Player player = getPlayer();
 
@@ -213,6 +268,8 @@ public abstract class PlayableItemViewHolder extends RecyclerView.ViewHolder imp
     }
 
     private void releasePlayer() {
+        mPendingStartKey = null;
+
         final Player player = getPlayer();
         unregisterPlayer();
         removePlaybackInfo();
@@ -261,8 +318,10 @@ public abstract class PlayableItemViewHolder extends RecyclerView.ViewHolder imp
     }
 
     private Player getPlayer() {
-        Player player = PlayerProviderImpl.getInstance(itemView.getContext()).getPlayer(getConfig(), getKey());
-        return player;
+        final Player player = PlayerProviderImpl.getInstance(itemView.getContext()).getPlayer(getConfig(), getKey());
+
+        // the Player might still be in the process of the asynchronous initialization
+        return (((player != null) && player.isInitialized()) ? player : null);
     }
 
     private Player getOrInitPlayer() {
@@ -273,6 +332,14 @@ public abstract class PlayableItemViewHolder extends RecyclerView.ViewHolder imp
         }
     }
 
+    private void getOrInitPlayerAsync(PlayerProvider.PlayerCallback callback) {
+        if(showInStreamVideoAds && !TextUtils.isEmpty(getAdTagUrl())) {
+            PlayerProviderImpl.getInstance(itemView.getContext()).getOrInitAdSupportedPlayerAsync(getConfig(), getKey(), mPlayerView, callback);
+        } else {
+            PlayerProviderImpl.getInstance(itemView.getContext()).getOrInitPlayerAsync(getConfig(), getKey(), Uri.parse(getVideoUrl()), callback);
+        }
+    }
+
     private void unregisterPlayer() {
         PlayerProviderImpl.getInstance(itemView.getContext()).unregister(getConfig(), getKey());
     }
@@ -298,7 +365,19 @@ public abstract class PlayableItemViewHolder extends RecyclerView.ViewHolder imp
 
     @Override
     public final PlaybackInfo getPlaybackInfo() {
-        return PlaybackInfoCache.getInstance().get(getKey(), new PlaybackInfo());
+        // (the default PlaybackInfo is only allocated upon a miss, as it's not needed most of the time)
+        final PlaybackInfo playbackInfo = PlaybackInfoCache.getInstance().get(getKey());
+        return ((playbackInfo != null) ? playbackInfo : new PlaybackInfo());
+    }
+
+    /**
+     * Updates the ended state of the existing PlaybackInfo (if there's any) through the cache,
+     * as the compact and persistent caches don't pick up the in-place modifications.
+     */
+    private void updatePlaybackInfoEndedState() {
+        final boolean isEnded = isEnded();
+
+        PlaybackInfoCache.getInstance().computeIfPresent(getKey(), (key, playbackInfo) -> playbackInfo.setEnded(isEnded));
     }
 
     private void removePlaybackInfo() {
@@ -325,7 +404,18 @@ public abstract class PlayableItemViewHolder extends RecyclerView.ViewHolder imp
     @NonNull
     @Override
     public final String getKey() {
-        return (getVideoUrl() + getTag());
+        final String videoUrl = getVideoUrl();
+        final String tag = getTag();
+
+        // re-composing the key only when the url or the tag changes, so that the repetitive
+        // lookups reuse the same key instance (with its hash code already computed)
+        if ((mKey == null) || !TextUtils.equals(videoUrl, mKeyVideoUrl) || !TextUtils.equals(tag, mKeyTag)) {
+            mKey = (videoUrl + tag);
+            mKeyVideoUrl = videoUrl;
+            mKeyTag = tag;
+        }
+
+        return mKey;
     }
 
     /**
@@ -519,19 +609,19 @@ public abstract class PlayableItemViewHolder extends RecyclerView.ViewHolder imp
     }
 
     private void onPlaybackIdle() {
-        getPlaybackInfo().setEnded(isEnded());
+        updatePlaybackInfoEndedState();
 
         onStateChanged(PlaybackState.STOPPED);
     }
 
     private void onPlaybackBuffering() {
-        getPlaybackInfo().setEnded(isEnded());
+        updatePlaybackInfoEndedState();
 
         onStateChanged(PlaybackState.BUFFERING);
     }
 
     private void onPlaybackReady() {
-        getPlaybackInfo().setEnded(isEnded());
+        updatePlaybackInfoEndedState();
 
         onStateChanged(PlaybackState.READY);
     }
@@ -29,11 +29,15 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.example.videoplayerusingmedia3.player.Player;
 import com.example.videoplayerusingmedia3.util.misc.CollectionUtils;
 import com.example.videoplayerusingmedia3.util.misc.Preconditions;
+import com.example.videoplayerusingmedia3.Config;
+import com.example.videoplayerusingmedia3.PlayerProvider;
 import com.example.videoplayerusingmedia3.PlayerProviderImpl;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -231,31 +235,77 @@ public final class PlayableItemsRecyclerView extends RecyclerView implements Pla
     }
 
     private void pauseItemPlayback() {
+        final Map<Config, List<String>> configKeysMap = new HashMap<>();
         final int childCount = getChildCount();
         ViewHolder viewHolder;
 
         for (int i = 0; i < childCount; i++) {
             viewHolder = findContainingViewHolder(getChildAt(i));
 
-            if ((viewHolder instanceof Playable)
-                && ((Playable) viewHolder).isTrulyPlayable()) {
+            if (!(viewHolder instanceof Playable)
+                || !((Playable) viewHolder).isTrulyPlayable()) {
+                continue;
+            }
+
+            if (viewHolder instanceof PlayableItemViewHolder) {
+                addKey(configKeysMap, (PlayableItemViewHolder) viewHolder);
+                ((PlayableItemViewHolder) viewHolder).onPausedInBulk();
+            } else {
                 ((Playable) viewHolder).pause();
             }
         }
+
+        // pausing the Players of the same Config at once
+        if (!configKeysMap.isEmpty()) {
+            final PlayerProvider playerProvider = PlayerProviderImpl.getInstance(getContext());
+
+            for (Map.Entry<Config, List<String>> entry : configKeysMap.entrySet()) {
+                playerProvider.pause(entry.getKey(), entry.getValue());
+            }
+        }
     }
 
     private void releaseAllItems() {
+        final Map<Config, List<String>> configKeysMap = new HashMap<>();
         final int childCount = getChildCount();
         ViewHolder viewHolder;
 
         for (int i = 0; i < childCount; i++) {
             viewHolder = findContainingViewHolder(getChildAt(i));
 
-            if ((viewHolder instanceof Playable)
-                && ((Playable) viewHolder).isTrulyPlayable()) {
+            if (!(viewHolder instanceof Playable)
+                || !((Playable) viewHolder).isTrulyPlayable()) {
+                continue;
+            }
+
+            if (viewHolder instanceof PlayableItemViewHolder) {
+                addKey(configKeysMap, (PlayableItemViewHolder) viewHolder);
+                ((PlayableItemViewHolder) viewHolder).onReleasedInBulk();
+            } else {
                 ((Playable) viewHolder).release();
             }
         }
+
+        // unregistering the Players of the same Config at once (just like the individual Playables do)
+        if (!configKeysMap.isEmpty()) {
+            final PlayerProvider playerProvider = PlayerProviderImpl.getInstance(getContext());
+
+            for (Map.Entry<Config, List<String>> entry : configKeysMap.entrySet()) {
+                playerProvider.unregister(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    private static void addKey(Map<Config, List<String>> configKeysMap, PlayableItemViewHolder viewHolder) {
+        final Config config = viewHolder.getConfig();
+        List<String> keys = configKeysMap.get(config);
+
+        if (keys == null) {
+            keys = new ArrayList<>();
+            configKeysMap.put(config, keys);
+        }
+
+        keys.add(viewHolder.getKey());
     }
 
     @Override
@@ -0,0 +1,216 @@
+/*
+ * Copyright 2017 Arthur Ivanets, arthur.ivanets.work@gmail.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.example.videoplayerusingmedia3;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class ArviPlayerNodePoolTest {
+
+    private ArviPlayerNodePool pool;
+
+    @Before
+    public void setUp() {
+        // (the time-based eviction is disabled, as it's scheduled on the main looper)
+        this.pool = new ArviPlayerNodePool(new PlayerNodePoolPolicy.Builder()
+            .maxSize(4)
+            .idleTimeToLive(0L)
+            .build());
+    }
+
+    @Test
+    public void getOldest_returnsLeastRecentlyAddedNode() {
+        final PlayerNode first = addNode("first");
+        addNode("second");
+        addNode("third");
+
+        assertSame(first, this.pool.peekOldest());
+        assertSame(first, this.pool.getOldest());
+    }
+
+    @Test
+    public void get_movesNodeToMostRecentlyUsedEnd() {
+        final PlayerNode first = addNode("first");
+        final PlayerNode second = addNode("second");
+        final PlayerNode third = addNode("third");
+
+        this.pool.get("first");
+
+        assertSame(second, this.pool.peekOldest());
+        assertEquals(3, this.pool.getPlayerNodes().size());
+        assertSame(second, this.pool.getPlayerNodes().get(0));
+        assertSame(third, this.pool.getPlayerNodes().get(1));
+        assertSame(first, this.pool.getPlayerNodes().get(2));
+    }
+
+    @Test
+    public void getOldest_movesNodeToMostRecentlyUsedEnd() {
+        final PlayerNode first = addNode("first");
+        final PlayerNode second = addNode("second");
+
+        assertSame(first, this.pool.getOldest());
+        assertSame(second, this.pool.peekOldest());
+    }
+
+    @Test
+    public void unregister_makesNodeFreeForReuse() {
+        final PlayerNode first = addNode("first");
+        addNode("second");
+
+        this.pool.unregister("first");
+
+        assertFalse(this.pool.contains("first"));
+        assertFalse(first.isKeySet());
+        assertEquals(2, this.pool.getPlayerCount());
+
+        final PlayerNode freeNode = this.pool.acquireFree("third");
+
+        assertSame(first, freeNode);
+        assertEquals("third", freeNode.getKey());
+        assertTrue(this.pool.contains("third"));
+        assertNull(this.pool.acquireFree("fourth"));
+    }
+
+    @Test
+    public void acquireFree_returnsNodeThatBecameFreeFirst() {
+        final PlayerNode first = addNode("first");
+        final PlayerNode second = addNode("second");
+
+        this.pool.unregister("second");
+        this.pool.unregister("first");
+
+        assertSame(second, this.pool.acquireFree("third"));
+        assertSame(first, this.pool.acquireFree("fourth"));
+    }
+
+    @Test
+    public void acquireFree_skipsNodesOfOtherTypes() {
+        final Object otherType = new Object();
+        final PlayerNode regularNode = addNode("regular");
+        final PlayerNode otherNode = addNode("other", otherType);
+
+        this.pool.unregister("other");
+        this.pool.unregister("regular");
+
+        assertSame(regularNode, this.pool.acquireFree("first", PlayerNode.DEFAULT_TYPE));
+        assertNull(this.pool.acquireFree("second", PlayerNode.DEFAULT_TYPE));
+        assertSame(otherNode, this.pool.acquireFree("third", otherType));
+    }
+
+    @Test
+    public void acquireOldest_rebindsLeastRecentlyUsedNode() {
+        final PlayerNode first = addNode("first");
+        final PlayerNode second = addNode("second");
+
+        final PlayerNode oldestNode = this.pool.acquireOldest("third");
+
+        assertSame(first, oldestNode);
+        assertEquals("third", oldestNode.getKey());
+        assertFalse(this.pool.contains("first"));
+        assertTrue(this.pool.contains("third"));
+        assertSame(second, this.pool.peekOldest());
+    }
+
+    @Test
+    public void acquire_prefersFreeNodeOverOldestOne() {
+        addNode("first");
+        final PlayerNode second = addNode("second");
+
+        this.pool.unregister("second");
+
+        assertSame(second, this.pool.acquire("third"));
+        assertTrue(this.pool.contains("first"));
+    }
+
+    @Test
+    public void release_removesNodeAndReleasesPlayer() {
+        final PlayerNode first = addNode("first");
+        final FakePlayer player = (FakePlayer) first.getPlayer();
+
+        this.pool.release("first");
+
+        assertFalse(this.pool.contains("first"));
+        assertEquals(0, this.pool.getPlayerCount());
+        assertFalse(first.hasPlayer());
+        assertEquals(1, player.getReleaseCount());
+    }
+
+    @Test
+    public void releaseFree_retainsRequestedNumberOfMostRecentlyFreedNodes() {
+        addNode("first");
+        addNode("second");
+        final PlayerNode third = addNode("third");
+
+        this.pool.unregister("first");
+        this.pool.unregister("second");
+        this.pool.unregister("third");
+        this.pool.releaseFree(1);
+
+        assertEquals(1, this.pool.getPlayerCount());
+        assertSame(third, this.pool.acquireFree("fourth"));
+    }
+
+    @Test
+    public void unregister_releasesFreeNodesBeyondMaxIdleCount() {
+        this.pool = new ArviPlayerNodePool(new PlayerNodePoolPolicy.Builder()
+            .maxSize(4)
+            .maxIdleCount(1)
+            .idleTimeToLive(0L)
+            .build());
+
+        final PlayerNode first = addNode("first");
+        final PlayerNode second = addNode("second");
+
+        this.pool.unregister("first");
+        this.pool.unregister("second");
+
+        assertEquals(1, this.pool.getPlayerCount());
+        assertFalse(first.hasPlayer());
+        assertSame(second, this.pool.acquireFree("third"));
+    }
+
+    @Test
+    public void isFull_reflectsMaxSize() {
+        for (int i = 0; i < 3; i++) {
+            addNode("key" + i);
+        }
+
+        assertFalse(this.pool.isFull());
+
+        addNode("key3");
+
+        assertTrue(this.pool.isFull());
+    }
+
+    private PlayerNode addNode(String key) {
+        return addNode(key, PlayerNode.DEFAULT_TYPE);
+    }
+
+    private PlayerNode addNode(String key, Object type) {
+        final PlayerNode playerNode = new PlayerNode(new FakePlayer(), type).setKey(key);
+        this.pool.add(playerNode);
+
+        return playerNode;
+    }
+
+}
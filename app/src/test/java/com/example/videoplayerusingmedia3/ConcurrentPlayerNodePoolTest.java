@@ -0,0 +1,201 @@
+/*
+ * Copyright 2017 Arthur Ivanets, arthur.ivanets.work@gmail.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.example.videoplayerusingmedia3;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class ConcurrentPlayerNodePoolTest {
+
+    private static final int THREAD_COUNT = 8;
+
+    @Test
+    public void acquireFree_handsEachFreeNodeToSingleKeyUnderContention() throws Exception {
+        final int nodeCount = 64;
+        final ConcurrentPlayerNodePool pool = new ConcurrentPlayerNodePool(createPolicy(nodeCount, nodeCount));
+
+        for (int i = 0; i < nodeCount; i++) {
+            pool.add(new PlayerNode(new FakePlayer()));
+        }
+
+        final Queue<PlayerNode> acquiredNodes = new ConcurrentLinkedQueue<>();
+
+        runConcurrently(threadIndex -> {
+            PlayerNode playerNode;
+            int i = 0;
+
+            while ((playerNode = pool.acquireFree("key-" + threadIndex + "-" + (i++))) != null) {
+                acquiredNodes.add(playerNode);
+            }
+        });
+
+        final Set<PlayerNode> distinctNodes = Collections.newSetFromMap(new IdentityHashMap<>());
+        distinctNodes.addAll(acquiredNodes);
+
+        assertEquals(nodeCount, acquiredNodes.size());
+        assertEquals(nodeCount, distinctNodes.size());
+        assertNull(pool.acquireFree("extra"));
+
+        for (PlayerNode playerNode : acquiredNodes) {
+            assertTrue(pool.contains(playerNode.getKey()));
+            assertSame(playerNode, pool.get(playerNode.getKey()));
+        }
+    }
+
+    @Test
+    public void mixedOperations_keepPoolConsistentUnderContention() throws Exception {
+        final int maxSize = 16;
+        final int keyCount = 48;
+        final int iterationCount = 20_000;
+        final ConcurrentPlayerNodePool pool = new ConcurrentPlayerNodePool(createPolicy(maxSize, (maxSize / 2)));
+        final Queue<FakePlayer> createdPlayers = new ConcurrentLinkedQueue<>();
+        // (the lookup-or-create sequences are serialized the same way the PlayerProviderImpl serializes them)
+        final Object acquisitionLock = new Object();
+
+        runConcurrently(threadIndex -> {
+            final Random random = new Random(threadIndex);
+            String key;
+
+            for (int i = 0; i < iterationCount; i++) {
+                key = ("key-" + random.nextInt(keyCount));
+
+                switch (random.nextInt(6)) {
+                    case 0:
+                    case 1:
+                        synchronized (acquisitionLock) {
+                            if ((pool.get(key) == null) && (pool.acquireFree(key) == null)) {
+                                if (pool.isFull()) {
+                                    pool.acquireOldest(key);
+                                } else {
+                                    final FakePlayer player = new FakePlayer();
+                                    createdPlayers.add(player);
+                                    pool.add(key, player);
+                                }
+                            }
+                        }
+                        break;
+                    case 2:
+                        pool.unregister(key);
+                        break;
+                    case 3:
+                        pool.release(key);
+                        break;
+                    case 4:
+                        pool.contains(key);
+                        pool.getPlayerNodes();
+                        break;
+                    default:
+                        pool.trim();
+                        break;
+                }
+
+                assertTrue(pool.getPlayerCount() <= maxSize);
+            }
+        });
+
+        final List<PlayerNode> playerNodes = pool.getPlayerNodes();
+        final Set<FakePlayer> pooledPlayers = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        assertEquals(pool.getPlayerCount(), playerNodes.size());
+        assertTrue(playerNodes.size() <= maxSize);
+
+        for (PlayerNode playerNode : playerNodes) {
+            assertTrue(playerNode.hasPlayer());
+            assertTrue(pooledPlayers.add((FakePlayer) playerNode.getPlayer()));
+
+            if (playerNode.isKeySet()) {
+                assertSame(playerNode, pool.get(playerNode.getKey()));
+            }
+        }
+
+        // each of the Players is either still pooled or released exactly once
+        for (FakePlayer player : createdPlayers) {
+            assertEquals((pooledPlayers.contains(player) ? 0 : 1), player.getReleaseCount());
+        }
+
+        pool.release();
+
+        assertEquals(0, pool.getPlayerCount());
+
+        for (FakePlayer player : createdPlayers) {
+            assertEquals(1, player.getReleaseCount());
+            assertFalse(player.isInitialized());
+        }
+    }
+
+    private static PlayerNodePoolPolicy createPolicy(int maxSize, int maxIdleCount) {
+        // (the time-based eviction is disabled, as it's scheduled on the main looper)
+        return new PlayerNodePoolPolicy.Builder()
+            .maxSize(maxSize)
+            .maxIdleCount(maxIdleCount)
+            .idleTimeToLive(0L)
+            .build();
+    }
+
+    private static void runConcurrently(ThreadTask task) throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        final CountDownLatch startLatch = new CountDownLatch(1);
+        final List<Future<?>> futures = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < THREAD_COUNT; i++) {
+                final int threadIndex = i;
+
+                futures.add(executor.submit(() -> {
+                    startLatch.await();
+                    task.run(threadIndex);
+                    return null;
+                }));
+            }
+
+            startLatch.countDown();
+
+            // (rethrows the failures of the worker threads)
+            for (Future<?> future : futures) {
+                future.get(30L, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private interface ThreadTask {
+
+        void run(int threadIndex) throws Exception;
+
+    }
+
+}
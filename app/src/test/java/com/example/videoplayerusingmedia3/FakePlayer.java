@@ -0,0 +1,199 @@
+/*
+ * Copyright 2017 Arthur Ivanets, arthur.ivanets.work@gmail.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.example.videoplayerusingmedia3;
+
+import android.os.Handler;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.media3.common.MediaItem;
+import androidx.media3.ui.PlayerView;
+
+import com.example.videoplayerusingmedia3.player.Player;
+import com.example.videoplayerusingmedia3.player.util.VolumeController;
+
+/**
+ * A {@link Player} that has no underlying player, used to exercise the pool bookkeeping off-device.
+ * <br>
+ * The fake is never initialized (unless {@link #init()} is called), so the pools release it synchronously,
+ * without touching the main looper.
+ */
+class FakePlayer implements Player {
+
+    private MediaItem mediaItem;
+
+    private boolean isInitialized;
+
+    private int releaseCount;
+
+    @Override
+    public void init() {
+        this.isInitialized = true;
+    }
+
+    @Override
+    public void initAsync(@NonNull Handler workerHandler, @NonNull Runnable callback) {
+        init();
+        callback.run();
+    }
+
+    @Override
+    public void prepare(boolean resetPosition) {
+        // no-op
+    }
+
+    @Override
+    public void play() {
+        // no-op
+    }
+
+    @Override
+    public void pause() {
+        // no-op
+    }
+
+    @Override
+    public void stop(boolean resetPosition) {
+        // no-op
+    }
+
+    @Override
+    public void seek(long positionInMillis) {
+        // no-op
+    }
+
+    @Override
+    public void release() {
+        this.isInitialized = false;
+        this.releaseCount++;
+    }
+
+    @Override
+    public void attach(@NonNull PlayerView playerView) {
+        // no-op
+    }
+
+    @Override
+    public void detach(@NonNull PlayerView playerView) {
+        // no-op
+    }
+
+    @Override
+    public void postAttachedEvent() {
+        // no-op
+    }
+
+    @Override
+    public void postDetachedEvent() {
+        // no-op
+    }
+
+    @Override
+    public void setAttachmentStateDelegate(@Nullable AttachmentStateDelegate attachmentStateDelegate) {
+        // no-op
+    }
+
+    @Override
+    public void addEventListener(@NonNull EventListener eventListener) {
+        // no-op
+    }
+
+    @Override
+    public void removeEventListener(@NonNull EventListener eventListener) {
+        // no-op
+    }
+
+    @Override
+    public void removeAllEventListeners() {
+        // no-op
+    }
+
+    @Override
+    public void setMediaItem(@NonNull MediaItem mediaItem) {
+        this.mediaItem = mediaItem;
+    }
+
+    @Nullable
+    @Override
+    public MediaItem getMediaItem() {
+        return this.mediaItem;
+    }
+
+    @NonNull
+    @Override
+    public VolumeController getVolumeController() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public int getPlaybackState() {
+        return PlaybackState.IDLE;
+    }
+
+    @Override
+    public long getPlaybackPosition() {
+        return 0L;
+    }
+
+    @Override
+    public long getDuration() {
+        return 0L;
+    }
+
+    @Override
+    public float getBufferedPercentage() {
+        return 0f;
+    }
+
+    @Override
+    public boolean isLooping() {
+        return false;
+    }
+
+    @Override
+    public boolean isInitialized() {
+        return this.isInitialized;
+    }
+
+    @Override
+    public boolean isInitializing() {
+        return false;
+    }
+
+    @Override
+    public boolean isPlaying() {
+        return false;
+    }
+
+    @Override
+    public boolean isAttached(@NonNull PlayerView playerView) {
+        return false;
+    }
+
+    @Override
+    public boolean isAttached() {
+        return false;
+    }
+
+    /**
+     * Retrieves the number of times the player got released.
+     */
+    int getReleaseCount() {
+        return this.releaseCount;
+    }
+
+}
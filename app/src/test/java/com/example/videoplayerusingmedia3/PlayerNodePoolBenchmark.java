@@ -0,0 +1,195 @@
+/*
+ * Copyright 2017 Arthur Ivanets, arthur.ivanets.work@gmail.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.example.videoplayerusingmedia3;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The JMH benchmarks of the {@link PlayerNodePool} acquisition and release paths, driven by the {@link FakePlayer}s
+ * (so that only the pool bookkeeping is measured).
+ * <br>
+ * The pools are created with the time-based idle eviction disabled, as it's scheduled on the main looper
+ * (and is off the acquisition path anyway). See the {@link PlayerNodePoolBenchmarkRunner} for how to run the benchmarks.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlayerNodePoolBenchmark {
+
+    /**
+     * The number of the events in the replayed {@link ScrollTrace}.
+     */
+    static final int SCROLL_TRACE_LENGTH = 1_000;
+
+    private static final int SCROLL_TRACE_ITEM_COUNT = 200;
+    private static final int SCROLL_TRACE_VISIBLE_COUNT = 3;
+
+    @Param({"2", "4", "8", "16", "32", "64"})
+    public int poolSize;
+
+    @Param({"arvi", "concurrent"})
+    public String poolType;
+
+    private PlayerNodePool pool;
+
+    private String[] boundKeys;
+    private String[] unboundKeys;
+    private int cursor;
+
+    private ScrollTrace scrollTrace;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        this.pool = createPool(this.poolType, this.poolSize);
+        this.boundKeys = new String[this.poolSize];
+        this.unboundKeys = new String[this.poolSize];
+        this.cursor = 0;
+
+        for (int i = 0; i < this.poolSize; i++) {
+            this.boundKeys[i] = ("bound-" + i);
+            this.unboundKeys[i] = ("unbound-" + i);
+            this.pool.add(this.boundKeys[i], new FakePlayer());
+        }
+
+        this.scrollTrace = ScrollTrace.generate(
+            this.poolSize,
+            SCROLL_TRACE_ITEM_COUNT,
+            SCROLL_TRACE_VISIBLE_COUNT,
+            SCROLL_TRACE_LENGTH
+        );
+    }
+
+    /**
+     * The lookup of the Player bound to the key (the hot path of the repeated binds of the same item).
+     */
+    @Benchmark
+    public PlayerNode get() {
+        return this.pool.get(nextBoundKey());
+    }
+
+    /**
+     * The release of the bound Player to the pool, followed by its reacquisition as a free one.
+     */
+    @Benchmark
+    public PlayerNode unregisterAndAcquireFree() {
+        final String key = nextBoundKey();
+
+        this.pool.unregister(key);
+
+        return this.pool.acquireFree(key, PlayerNode.DEFAULT_TYPE);
+    }
+
+    /**
+     * The rebinding of the least recently used Player of the full pool to another key.
+     */
+    @Benchmark
+    public PlayerNode acquireOldest() {
+        // (the bound and the unbound keys swap roles each time the cursor wraps around)
+        final String[] keys = (((this.cursor / this.poolSize) % 2 == 0) ? this.unboundKeys : this.boundKeys);
+
+        return this.pool.acquireOldest(keys[(this.cursor++) % this.poolSize], PlayerNode.DEFAULT_TYPE);
+    }
+
+    /**
+     * The release of the bound Player, followed by the addition of a brand-new one in its place.
+     */
+    @Benchmark
+    public void releaseAndAdd() {
+        final String key = nextBoundKey();
+
+        this.pool.release(key);
+        this.pool.add(key, new FakePlayer());
+    }
+
+    /**
+     * The replay of the synthetic {@link ScrollTrace}, using the acquisition sequence of the provider.
+     */
+    @Benchmark
+    @OperationsPerInvocation(SCROLL_TRACE_LENGTH)
+    public int replayScrollTrace() {
+        return replay(this.pool, this.scrollTrace);
+    }
+
+    private String nextBoundKey() {
+        return this.boundKeys[(this.cursor++) % this.poolSize];
+    }
+
+    static PlayerNodePool createPool(String poolType, int poolSize) {
+        final PlayerNodePoolPolicy policy = new PlayerNodePoolPolicy.Builder()
+            .maxSize(poolSize)
+            .idleTimeToLive(0L)
+            .build();
+
+        return ("concurrent".equals(poolType) ? new ConcurrentPlayerNodePool(policy) : new ArviPlayerNodePool(policy));
+    }
+
+    /**
+     * Replays the specified trace against the pool.
+     *
+     * @return the number of the brand-new Players created during the replay
+     */
+    static int replay(PlayerNodePool pool, ScrollTrace scrollTrace) {
+        int creationCount = 0;
+        String key;
+        PlayerNode playerNode;
+
+        for (int i = 0; i < scrollTrace.length(); i++) {
+            key = scrollTrace.getKey(i);
+
+            if (!scrollTrace.isBindEvent(i)) {
+                pool.unregister(key);
+                continue;
+            }
+
+            // (the same sequence as the one of the PlayerProviderImpl)
+            playerNode = pool.get(key);
+
+            if (playerNode == null) {
+                playerNode = pool.acquireFree(key, PlayerNode.DEFAULT_TYPE);
+            }
+
+            if ((playerNode == null) && pool.isFull()) {
+                playerNode = pool.acquireOldest(key, PlayerNode.DEFAULT_TYPE);
+            }
+
+            if (playerNode == null) {
+                pool.add(new PlayerNode(new FakePlayer()).setKey(key));
+                creationCount++;
+            }
+        }
+
+        return creationCount;
+    }
+
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2017 Arthur Ivanets, arthur.ivanets.work@gmail.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.example.videoplayerusingmedia3;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Exercises the {@link PlayerNodePoolBenchmark} operations once per pool configuration,
+ * making sure the acquisition and release paths run off-device (on the plain JVM) and keep the pools consistent.
+ */
+public class PlayerNodePoolBenchmarkTest {
+
+    private static final int[] POOL_SIZES = {2, 4, 8, 16, 32, 64};
+
+    private static final String[] POOL_TYPES = {"arvi", "concurrent"};
+
+    @Test
+    public void benchmarkOperations_runOffDevice() {
+        for (String poolType : POOL_TYPES) {
+            for (int poolSize : POOL_SIZES) {
+                final PlayerNodePoolBenchmark benchmark = createBenchmark(poolType, poolSize);
+
+                for (int i = 0; i < (2 * poolSize); i++) {
+                    assertNotNull(benchmark.get());
+                    assertNotNull(benchmark.unregisterAndAcquireFree());
+                    assertNotNull(benchmark.acquireOldest());
+                    benchmark.releaseAndAdd();
+                }
+
+                benchmark.replayScrollTrace();
+            }
+        }
+    }
+
+    @Test
+    public void replay_createsPlayersOnlyUntilPoolIsFull() {
+        final ScrollTrace scrollTrace = ScrollTrace.generate(0L, 200, 3, PlayerNodePoolBenchmark.SCROLL_TRACE_LENGTH);
+
+        for (String poolType : POOL_TYPES) {
+            for (int poolSize : POOL_SIZES) {
+                final PlayerNodePool pool = PlayerNodePoolBenchmark.createPool(poolType, poolSize);
+                final int creationCount = PlayerNodePoolBenchmark.replay(pool, scrollTrace);
+
+                assertTrue(creationCount <= poolSize);
+                assertEquals(creationCount, pool.getPlayerCount());
+            }
+        }
+    }
+
+    @Test
+    public void scrollTrace_keepsVisibleWindowConsistent() {
+        final ScrollTrace scrollTrace = ScrollTrace.generate(42L, 50, 3, 500);
+        int boundCount = 0;
+
+        for (int i = 0; i < scrollTrace.length(); i++) {
+            boundCount += (scrollTrace.isBindEvent(i) ? 1 : -1);
+            assertTrue((boundCount >= 0) && (boundCount <= 3));
+        }
+
+        assertEquals(3, boundCount);
+    }
+
+    private static PlayerNodePoolBenchmark createBenchmark(String poolType, int poolSize) {
+        final PlayerNodePoolBenchmark benchmark = new PlayerNodePoolBenchmark();
+        benchmark.poolType = poolType;
+        benchmark.poolSize = poolSize;
+        benchmark.setUp();
+
+        return benchmark;
+    }
+
+}
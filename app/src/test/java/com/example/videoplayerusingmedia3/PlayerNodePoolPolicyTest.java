@@ -0,0 +1,92 @@
+/*
+ * Copyright 2017 Arthur Ivanets, arthur.ivanets.work@gmail.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.example.videoplayerusingmedia3;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class PlayerNodePoolPolicyTest {
+
+    @Test
+    public void build_appliesDefaults() {
+        final PlayerNodePoolPolicy policy = new PlayerNodePoolPolicy.Builder().build();
+
+        assertEquals(PlayerNodePoolPolicy.DEFAULT_MAX_SIZE, policy.maxSize);
+        assertEquals(policy.maxSize, policy.maxIdleCount);
+        assertEquals(1, policy.minIdleCount);
+        assertEquals(PlayerNodePoolPolicy.DEFAULT_IDLE_TIME_TO_LIVE, policy.idleTimeToLive);
+        assertTrue(policy.isIdleEvictionEnabled());
+    }
+
+    @Test
+    public void build_derivesIdleCountsFromMaxSize() {
+        final PlayerNodePoolPolicy policy = new PlayerNodePoolPolicy.Builder()
+            .maxSize(3)
+            .build();
+
+        assertEquals(3, policy.maxIdleCount);
+        assertEquals(1, policy.minIdleCount);
+    }
+
+    @Test
+    public void build_capsDefaultMinIdleCountByMaxIdleCount() {
+        final PlayerNodePoolPolicy policy = new PlayerNodePoolPolicy.Builder()
+            .maxSize(3)
+            .maxIdleCount(0)
+            .build();
+
+        assertEquals(0, policy.maxIdleCount);
+        assertEquals(0, policy.minIdleCount);
+    }
+
+    @Test
+    public void build_disablesIdleEvictionForZeroTimeToLive() {
+        final PlayerNodePoolPolicy policy = new PlayerNodePoolPolicy.Builder()
+            .idleTimeToLive(0L)
+            .build();
+
+        assertFalse(policy.isIdleEvictionEnabled());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void build_rejectsMaxIdleCountAboveMaxSize() {
+        new PlayerNodePoolPolicy.Builder()
+            .maxSize(2)
+            .maxIdleCount(3)
+            .build();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void build_rejectsMinIdleCountAboveMaxIdleCount() {
+        new PlayerNodePoolPolicy.Builder()
+            .maxSize(4)
+            .minIdleCount(3)
+            .maxIdleCount(2)
+            .build();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void build_rejectsNegativeTimeToLive() {
+        new PlayerNodePoolPolicy.Builder()
+            .idleTimeToLive(-1L)
+            .build();
+    }
+
+}
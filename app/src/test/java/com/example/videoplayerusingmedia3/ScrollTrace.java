@@ -0,0 +1,122 @@
+/*
+ * Copyright 2017 Arthur Ivanets, arthur.ivanets.work@gmail.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.example.videoplayerusingmedia3;
+
+import com.example.videoplayerusingmedia3.util.misc.Preconditions;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * A synthetic trace of the key bind/unbind events produced by scrolling back and forth
+ * through a list of the video items (the items are bound as they scroll into the view, and unbound as they scroll out of it).
+ */
+final class ScrollTrace {
+
+    private final String[] keys;
+    private final boolean[] bindEvents;
+
+    private ScrollTrace(String[] keys, boolean[] bindEvents) {
+        this.keys = keys;
+        this.bindEvents = bindEvents;
+    }
+
+    /**
+     * Generates the trace of the specified length.
+     *
+     * @param seed         the seed of the fling lengths and directions
+     * @param itemCount    the number of the items in the list
+     * @param visibleCount the number of the simultaneously visible items
+     * @param length       the number of the events in the trace
+     * @return the generated trace
+     */
+    static ScrollTrace generate(long seed, int itemCount, int visibleCount, int length) {
+        Preconditions.isTrue("You must specify a valid Visible Count.", ((visibleCount > 0) && (visibleCount < itemCount)));
+        Preconditions.isTrue("You must specify a valid Length.", (length >= visibleCount));
+
+        final Random random = new Random(seed);
+        final String[] keys = new String[length];
+        final boolean[] bindEvents = new boolean[length];
+        final String[] itemKeys = new String[itemCount];
+
+        for (int i = 0; i < itemCount; i++) {
+            itemKeys[i] = ("item-" + i);
+        }
+
+        int eventCount = 0;
+
+        // the initially visible items
+        for (int i = 0; i < visibleCount; i++, eventCount++) {
+            keys[eventCount] = itemKeys[i];
+            bindEvents[eventCount] = true;
+        }
+
+        int firstVisible = 0;
+        int direction = 1;
+
+        while (eventCount < length) {
+            // the flings mostly continue in the same direction, with the occasional turns
+            direction = ((random.nextInt(4) == 0) ? -direction : direction);
+            int flingLength = (1 + random.nextInt(3 * visibleCount));
+
+            while ((flingLength-- > 0) && ((eventCount + 2) <= length)) {
+                if ((direction > 0) && ((firstVisible + visibleCount) >= itemCount)) {
+                    direction = -1;
+                } else if ((direction < 0) && (firstVisible == 0)) {
+                    direction = 1;
+                }
+
+                final int unboundItem = ((direction > 0) ? firstVisible : (firstVisible + visibleCount - 1));
+                firstVisible += direction;
+                final int boundItem = ((direction > 0) ? (firstVisible + visibleCount - 1) : firstVisible);
+
+                keys[eventCount] = itemKeys[unboundItem];
+                bindEvents[eventCount++] = false;
+                keys[eventCount] = itemKeys[boundItem];
+                bindEvents[eventCount++] = true;
+            }
+
+            if ((eventCount + 2) > length) {
+                break;
+            }
+        }
+
+        return new ScrollTrace(Arrays.copyOf(keys, eventCount), Arrays.copyOf(bindEvents, eventCount));
+    }
+
+    /**
+     * Retrieves the number of the events in the trace.
+     */
+    int length() {
+        return this.keys.length;
+    }
+
+    /**
+     * Retrieves the key of the item the specified event belongs to.
+     */
+    String getKey(int index) {
+        return this.keys[index];
+    }
+
+    /**
+     * Determines if the specified event is a bind (as opposed to the unbind) one.
+     */
+    boolean isBindEvent(int index) {
+        return this.bindEvents[index];
+    }
+
+}
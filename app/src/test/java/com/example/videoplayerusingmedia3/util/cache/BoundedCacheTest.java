@@ -0,0 +1,148 @@
+/*
+ * Copyright 2017 Arthur Ivanets, arthur.ivanets.work@gmail.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.example.videoplayerusingmedia3.util.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class BoundedCacheTest {
+
+    /**
+     * Weighs the entries by their values, so that the byte bounds are easy to reason about.
+     */
+    private static final BoundedCache.Weigher<String, Integer> VALUE_WEIGHER = (key, value) -> value;
+
+    @Test
+    public void put_evictsLeastRecentlyPutEntryOnceMaxSizeIsExceeded() {
+        final List<String> evictedKeys = new ArrayList<>();
+        final BoundedCache<String, Integer> cache = createCache(2, 0L, evictedKeys);
+
+        cache.put("a", 1);
+        cache.put("b", 1);
+        cache.put("c", 1);
+
+        assertEquals(Arrays.asList("a"), evictedKeys);
+        assertFalse(cache.contains("a"));
+        assertTrue(cache.contains("b"));
+        assertTrue(cache.contains("c"));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void get_refreshesAccessOrder() {
+        final List<String> evictedKeys = new ArrayList<>();
+        final BoundedCache<String, Integer> cache = createCache(2, 0L, evictedKeys);
+
+        cache.put("a", 1);
+        cache.put("b", 1);
+        cache.get("a");
+        cache.put("c", 1);
+
+        assertEquals(Arrays.asList("b"), evictedKeys);
+        assertTrue(cache.contains("a"));
+    }
+
+    @Test
+    public void contains_doesNotRefreshAccessOrder() {
+        final List<String> evictedKeys = new ArrayList<>();
+        final BoundedCache<String, Integer> cache = createCache(2, 0L, evictedKeys);
+
+        cache.put("a", 1);
+        cache.put("b", 1);
+        cache.contains("a");
+        cache.put("c", 1);
+
+        assertEquals(Arrays.asList("a"), evictedKeys);
+    }
+
+    @Test
+    public void put_evictsLeastRecentlyUsedEntriesUntilWithinMaxBytes() {
+        final List<String> evictedKeys = new ArrayList<>();
+        final BoundedCache<String, Integer> cache = createCache(0, 10L, evictedKeys);
+
+        cache.put("a", 3);
+        cache.put("b", 3);
+        cache.put("c", 3);
+        cache.get("a");
+        cache.put("d", 5);
+
+        assertEquals(Arrays.asList("b", "c"), evictedKeys);
+        assertEquals(8L, cache.sizeInBytes());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void put_keepsMostRecentlyPutEntryEvenIfItExceedsMaxBytes() {
+        final List<String> evictedKeys = new ArrayList<>();
+        final BoundedCache<String, Integer> cache = createCache(0, 10L, evictedKeys);
+
+        cache.put("a", 3);
+        cache.put("b", 20);
+
+        assertEquals(Arrays.asList("a"), evictedKeys);
+        assertTrue(cache.contains("b"));
+        assertEquals(20L, cache.sizeInBytes());
+    }
+
+    @Test
+    public void sizeInBytes_tracksReplacementsRemovalsAndComputations() {
+        final BoundedCache<String, Integer> cache = createCache(0, 0L, null);
+
+        cache.put("a", 3);
+        cache.put("b", 4);
+        assertEquals(7L, cache.sizeInBytes());
+
+        cache.put("a", 5);
+        assertEquals(9L, cache.sizeInBytes());
+
+        cache.put("b", null);
+        assertEquals(5L, cache.sizeInBytes());
+
+        cache.compute("c", (key, value) -> 2);
+        cache.computeIfPresent("a", (key, value) -> (value + 1));
+        assertEquals(8L, cache.sizeInBytes());
+
+        cache.compute("c", (key, value) -> null);
+        cache.remove("a");
+        assertEquals(0L, cache.sizeInBytes());
+        assertEquals(0, cache.size());
+
+        cache.getOrCompute("d", key -> 6);
+        assertEquals(6L, cache.sizeInBytes());
+
+        cache.clear();
+        assertEquals(0L, cache.sizeInBytes());
+    }
+
+    private static BoundedCache<String, Integer> createCache(int maxSize, long maxBytes, List<String> evictedKeys) {
+        return new BoundedCache<>(
+            maxSize,
+            maxBytes,
+            VALUE_WEIGHER,
+            ((evictedKeys != null) ? ((key, value) -> evictedKeys.add(key)) : null)
+        );
+    }
+
+}
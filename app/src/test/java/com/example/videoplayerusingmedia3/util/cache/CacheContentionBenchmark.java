@@ -0,0 +1,142 @@
+/*
+ * Copyright 2017 Arthur Ivanets, arthur.ivanets.work@gmail.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.example.videoplayerusingmedia3.util.cache;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The JMH benchmarks of the thread-safe {@link Cache}s under contention: the {@link CacheType#CONCURRENT_IN_MEMORY} one
+ * against the synchronized {@link CacheType#IN_MEMORY} one (the one the {@link PlaybackInfoCache} used before).
+ * <br>
+ * All the threads share the same pre-populated cache, and the writes overwrite the existing keys (so that the cache size stays the same).
+ * See the {@link CacheContentionBenchmarkRunner} for how to run the benchmarks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheContentionBenchmark {
+
+    /**
+     * The number of the threads of the uniform (read-only and write-only) benchmarks.
+     */
+    static final int THREAD_COUNT = 4;
+
+    // (a power of two, so that the cursors wrap around with a mask)
+    static final int KEY_COUNT = 1_024;
+
+    @Param({"IN_MEMORY", "CONCURRENT_IN_MEMORY"})
+    public String cacheType;
+
+    private Cache<String, Long> cache;
+
+    private String[] keys;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        this.cache = CacheType.valueOf(this.cacheType).create(true);
+        this.keys = new String[KEY_COUNT];
+
+        for (int i = 0; i < KEY_COUNT; i++) {
+            this.keys[i] = ("https://cdn.example.com/videos/" + i + ".mp4");
+            this.cache.put(this.keys[i], (long) i);
+        }
+    }
+
+    /**
+     * The concurrent lookups (the item binds and the position reads of the player callbacks).
+     */
+    @Benchmark
+    @Threads(THREAD_COUNT)
+    public Long get(Cursor cursor) {
+        return this.cache.get(cursor.nextKey(this.keys));
+    }
+
+    /**
+     * The concurrent overwrites (the position saves).
+     */
+    @Benchmark
+    @Threads(THREAD_COUNT)
+    public Long put(Cursor cursor) {
+        return this.cache.put(cursor.nextKey(this.keys), cursor.nextValue());
+    }
+
+    /**
+     * The reads of the read-mostly mix (three readers per writer).
+     */
+    @Benchmark
+    @Group("readMostly")
+    @GroupThreads(3)
+    public Long readMostlyGet(Cursor cursor) {
+        return get(cursor);
+    }
+
+    /**
+     * The writes of the read-mostly mix (three readers per writer).
+     */
+    @Benchmark
+    @Group("readMostly")
+    @GroupThreads(1)
+    public Long readMostlyPut(Cursor cursor) {
+        return put(cursor);
+    }
+
+    /**
+     * The per-thread position within the keys (each of the threads starts at a random one, so that they do not move in lockstep).
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        private int position;
+        private long value;
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            this.position = ThreadLocalRandom.current().nextInt(KEY_COUNT);
+            this.value = 0L;
+        }
+
+        String nextKey(String[] keys) {
+            return keys[(this.position++) & (KEY_COUNT - 1)];
+        }
+
+        Long nextValue() {
+            return (this.value++);
+        }
+
+    }
+
+}
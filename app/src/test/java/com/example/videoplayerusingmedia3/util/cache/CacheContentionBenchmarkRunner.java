@@ -0,0 +1,64 @@
+/*
+ * Copyright 2017 Arthur Ivanets, arthur.ivanets.work@gmail.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.example.videoplayerusingmedia3.util.cache;
+
+import static org.junit.Assume.assumeTrue;
+
+import org.junit.Test;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+
+/**
+ * Runs the {@link CacheContentionBenchmark} on the host JVM (skipped unless requested):
+ * <pre>
+ * ./gradlew :app:testDebugUnitTest --tests '*CacheContentionBenchmarkRunner' -Pbenchmark
+ * </pre>
+ * The results are written to the <strong>app/benchmarks/cache-contention.json</strong>, which is the baseline
+ * the cache changes are to be compared against (see the PlayerNodePoolBenchmarkRunner for the caveats of the in-process runs).
+ */
+public class CacheContentionBenchmarkRunner {
+
+    private static final String BENCHMARK_PROPERTY = "arvi.benchmark";
+
+    private static final String RESULT_FILE_PATH = "benchmarks/cache-contention.json";
+
+    @Test
+    public void runBenchmarks() throws Exception {
+        assumeTrue(Boolean.getBoolean(BENCHMARK_PROPERTY));
+
+        final File resultFile = new File(RESULT_FILE_PATH);
+        final File resultDirectory = resultFile.getParentFile();
+
+        if ((resultDirectory != null) && !resultDirectory.exists() && !resultDirectory.mkdirs()) {
+            throw new IllegalStateException("Failed to create the " + resultDirectory + " directory.");
+        }
+
+        final Options options = new OptionsBuilder()
+            .include(CacheContentionBenchmark.class.getName())
+            .forks(0)
+            .resultFormat(ResultFormatType.JSON)
+            .result(resultFile.getPath())
+            .build();
+
+        new Runner(options).run();
+    }
+
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2017 Arthur Ivanets, arthur.ivanets.work@gmail.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.example.videoplayerusingmedia3.util.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import org.junit.Test;
+
+/**
+ * Exercises the {@link CacheContentionBenchmark} operations once per cache type,
+ * making sure they run off-device and keep the cache populated.
+ */
+public class CacheContentionBenchmarkTest {
+
+    private static final String[] CACHE_TYPES = {"IN_MEMORY", "CONCURRENT_IN_MEMORY"};
+
+    @Test
+    public void benchmarkOperations_keepCachePopulated() {
+        for (String cacheType : CACHE_TYPES) {
+            final CacheContentionBenchmark benchmark = new CacheContentionBenchmark();
+            benchmark.cacheType = cacheType;
+            benchmark.setUp();
+
+            final CacheContentionBenchmark.Cursor cursor = new CacheContentionBenchmark.Cursor();
+            cursor.setUp();
+
+            for (int i = 0; i < (2 * CacheContentionBenchmark.KEY_COUNT); i++) {
+                assertNotNull(benchmark.get(cursor));
+                assertNotNull(benchmark.put(cursor));
+                assertNotNull(benchmark.readMostlyGet(cursor));
+                assertNotNull(benchmark.readMostlyPut(cursor));
+            }
+
+            int presentCount = 0;
+
+            for (int i = 0; i < CacheContentionBenchmark.KEY_COUNT; i++) {
+                presentCount += (benchmark.get(cursor) != null ? 1 : 0);
+            }
+
+            assertEquals(CacheContentionBenchmark.KEY_COUNT, presentCount);
+        }
+    }
+
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2017 Arthur Ivanets, arthur.ivanets.work@gmail.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.example.videoplayerusingmedia3.util.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.example.videoplayerusingmedia3.model.PlaybackInfo;
+import com.example.videoplayerusingmedia3.model.VolumeInfo;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+public class CompactPlaybackInfoCacheTest {
+
+    private static final int MASK = (CompactPlaybackInfoCache.INITIAL_CAPACITY - 1);
+
+    @Test
+    public void put_storesDecomposedValue() {
+        final CompactPlaybackInfoCache cache = new CompactPlaybackInfoCache();
+
+        cache.put("key", new PlaybackInfo()
+            .setPlaybackPosition(1_000L)
+            .setDuration(60_000L)
+            .setVolumeInfo(new VolumeInfo(0.5f, true))
+            .setEnded(true));
+
+        final PlaybackInfo value = cache.get("key");
+
+        assertEquals(1_000L, value.getPlaybackPosition());
+        assertEquals(60_000L, value.getDuration());
+        assertEquals(0.5f, value.getVolumeInfo().getVolume(), 0f);
+        assertTrue(value.getVolumeInfo().isMuted());
+        assertTrue(value.isEnded());
+    }
+
+    @Test
+    public void remove_shiftsCollidingEntriesBackwards() {
+        assertRemovalKeepsClusterReachable(10);
+    }
+
+    @Test
+    public void remove_shiftsCollidingEntriesBackwardsAcrossTableEnd() {
+        assertRemovalKeepsClusterReachable(MASK);
+    }
+
+    @Test
+    public void mixedOperations_matchReferenceMap() {
+        // (the number of the keys stays below the resize threshold, so that the probe sequences keep colliding)
+        final int keyCount = 48;
+        final Random random = new Random(42L);
+        final CompactPlaybackInfoCache cache = new CompactPlaybackInfoCache();
+        final Map<String, Long> expectedPositions = new HashMap<>();
+
+        for (int i = 0; i < 10_000; i++) {
+            final String key = ("key-" + random.nextInt(keyCount));
+
+            if (random.nextBoolean()) {
+                cache.put(key, createPlaybackInfo(i));
+                expectedPositions.put(key, (long) i);
+            } else {
+                cache.remove(key);
+                expectedPositions.remove(key);
+            }
+
+            assertEquals(expectedPositions.size(), cache.size());
+        }
+
+        for (int i = 0; i < keyCount; i++) {
+            final String key = ("key-" + i);
+            final Long expectedPosition = expectedPositions.get(key);
+
+            if (expectedPosition != null) {
+                assertEquals(expectedPosition.longValue(), cache.get(key).getPlaybackPosition());
+            } else {
+                assertFalse(cache.contains(key));
+            }
+        }
+    }
+
+    @Test
+    public void keysWithSameStringHashCode_doNotCollide() {
+        // ("Aa" and "BB" share the String#hashCode(), as well as the length)
+        final String firstKey = (createKey(0) + "#Aa");
+        final String secondKey = (createKey(0) + "#BB");
+        final CompactPlaybackInfoCache cache = new CompactPlaybackInfoCache();
+
+        assertEquals(firstKey.hashCode(), secondKey.hashCode());
+        assertNotEquals(PlaybackInfoCache.hashKey(firstKey), PlaybackInfoCache.hashKey(secondKey));
+
+        cache.put(firstKey, new PlaybackInfo().setPlaybackPosition(1L));
+
+        assertFalse(cache.contains(secondKey));
+
+        cache.put(secondKey, new PlaybackInfo().setPlaybackPosition(2L));
+
+        assertEquals(1L, cache.get(firstKey).getPlaybackPosition());
+        assertEquals(2L, cache.get(secondKey).getPlaybackPosition());
+    }
+
+    @Test
+    public void retainedHeap_isSmallerThanObjectGraphCache() {
+        final int entryCount = 10_000;
+
+        long usedHeap = getUsedHeapAfterGc();
+        final Cache<String, PlaybackInfo> objectGraphCache = new InMemoryCache<>();
+        populate(objectGraphCache, entryCount);
+        final long objectGraphBytes = (getUsedHeapAfterGc() - usedHeap);
+
+        usedHeap = getUsedHeapAfterGc();
+        final CompactPlaybackInfoCache compactCache = new CompactPlaybackInfoCache();
+        populate(compactCache, entryCount);
+        final long compactBytes = (getUsedHeapAfterGc() - usedHeap);
+
+        // (keeping both of the caches reachable until the measurements are done)
+        assertEquals(entryCount, compactCache.size());
+        assertTrue(objectGraphCache.contains(createKey(0)));
+
+        assertTrue(compactBytes < (objectGraphBytes / 2));
+    }
+
+    private static void assertRemovalKeepsClusterReachable(int homeSlot) {
+        final int nextSlot = ((homeSlot + 1) & MASK);
+
+        // | A0 | A1 | B0 | A2 |, where the A keys share the home slot and the B key's home slot is the next one
+        final List<String> homeKeys = findKeys(homeSlot, 3);
+        final String nextKey = findKeys(nextSlot, 1).get(0);
+        final CompactPlaybackInfoCache cache = new CompactPlaybackInfoCache();
+
+        cache.put(homeKeys.get(0), createPlaybackInfo(0L));
+        cache.put(homeKeys.get(1), createPlaybackInfo(1L));
+        cache.put(nextKey, createPlaybackInfo(2L));
+        cache.put(homeKeys.get(2), createPlaybackInfo(3L));
+
+        assertEquals(0L, cache.remove(homeKeys.get(0)).getPlaybackPosition());
+        assertNull(cache.get(homeKeys.get(0)));
+        assertEquals(1L, cache.get(homeKeys.get(1)).getPlaybackPosition());
+        assertEquals(2L, cache.get(nextKey).getPlaybackPosition());
+        assertEquals(3L, cache.get(homeKeys.get(2)).getPlaybackPosition());
+
+        assertEquals(2L, cache.remove(nextKey).getPlaybackPosition());
+        assertEquals(1L, cache.get(homeKeys.get(1)).getPlaybackPosition());
+        assertEquals(3L, cache.get(homeKeys.get(2)).getPlaybackPosition());
+        assertEquals(2, cache.size());
+    }
+
+    private static List<String> findKeys(int homeSlot, int count) {
+        final List<String> keys = new ArrayList<>();
+
+        for (int i = 0; keys.size() < count; i++) {
+            final String key = ("key-" + i);
+
+            if (CompactPlaybackInfoCache.getHomeSlot(PlaybackInfoCache.hashKey(key), MASK) == homeSlot) {
+                keys.add(key);
+            }
+        }
+
+        return keys;
+    }
+
+    private static void populate(Cache<String, PlaybackInfo> cache, int entryCount) {
+        for (int i = 0; i < entryCount; i++) {
+            cache.put(createKey(i), createPlaybackInfo(i));
+        }
+    }
+
+    private static String createKey(int index) {
+        // (the keys are the media urls in practice)
+        return ("https://cdn.example.com/feed/videos/" + index + "/master.m3u8");
+    }
+
+    private static PlaybackInfo createPlaybackInfo(long position) {
+        return new PlaybackInfo()
+            .setPlaybackPosition(position)
+            .setDuration(60_000L)
+            .setVolumeInfo(new VolumeInfo(1f, false));
+    }
+
+    private static long getUsedHeapAfterGc() {
+        final Runtime runtime = Runtime.getRuntime();
+        long usedHeap = Long.MAX_VALUE;
+
+        // (a single gc request is merely a hint, so the lowest of the several readings is taken)
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            usedHeap = Math.min(usedHeap, (runtime.totalMemory() - runtime.freeMemory()));
+        }
+
+        return usedHeap;
+    }
+
+}
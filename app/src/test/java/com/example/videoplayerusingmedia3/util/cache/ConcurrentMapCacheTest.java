@@ -0,0 +1,177 @@
+/*
+ * Copyright 2017 Arthur Ivanets, arthur.ivanets.work@gmail.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.example.videoplayerusingmedia3.util.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class ConcurrentMapCacheTest {
+
+    private static final int THREAD_COUNT = 8;
+
+    @Test
+    public void put_removesEntryForNullValue() {
+        final ConcurrentMapCache<String, Integer> cache = new ConcurrentMapCache<>();
+
+        cache.put("key", 1);
+        cache.put("key", null);
+
+        assertFalse(cache.contains("key"));
+        assertEquals(Integer.valueOf(2), cache.get("key", 2));
+    }
+
+    @Test
+    public void nullKey_fallsBackToDefaultValue() {
+        final ConcurrentMapCache<String, Integer> cache = new ConcurrentMapCache<>();
+
+        assertNull(cache.put(null, 1));
+        assertEquals(Integer.valueOf(2), cache.get(null, 2));
+        assertEquals(Integer.valueOf(3), cache.remove(null, 3));
+        assertFalse(cache.contains(null));
+    }
+
+    @Test
+    public void getOrCompute_onlyInvokesFactoryUponMiss() {
+        final ConcurrentMapCache<String, Integer> cache = new ConcurrentMapCache<>();
+
+        assertEquals(Integer.valueOf(1), cache.getOrCompute("key", key -> 1));
+        assertEquals(Integer.valueOf(1), cache.getOrCompute("key", key -> {
+            fail("The factory must not be invoked upon a hit.");
+            return 2;
+        }));
+    }
+
+    @Test
+    public void compute_removesEntryForNullResult() {
+        final ConcurrentMapCache<String, Integer> cache = new ConcurrentMapCache<>();
+
+        assertEquals(Integer.valueOf(1), cache.compute("key", (key, value) -> ((value == null) ? 1 : (value + 1))));
+        assertEquals(Integer.valueOf(2), cache.compute("key", (key, value) -> ((value == null) ? 1 : (value + 1))));
+        assertNull(cache.compute("key", (key, value) -> null));
+        assertFalse(cache.contains("key"));
+    }
+
+    @Test
+    public void computeIfPresent_skipsAbsentEntries() {
+        final ConcurrentMapCache<String, Integer> cache = new ConcurrentMapCache<>();
+
+        assertNull(cache.computeIfPresent("key", (key, value) -> {
+            fail("The remapper must not be invoked for an absent entry.");
+            return 1;
+        }));
+
+        cache.put("key", 1);
+
+        assertEquals(Integer.valueOf(2), cache.computeIfPresent("key", (key, value) -> (value + 1)));
+        assertNull(cache.computeIfPresent("key", (key, value) -> null));
+        assertFalse(cache.contains("key"));
+    }
+
+    @Test
+    public void compute_appliesEveryUpdateUnderContention() throws Exception {
+        final int iterationCount = 10_000;
+        final ConcurrentMapCache<String, Integer> cache = new ConcurrentMapCache<>();
+
+        runConcurrently(threadIndex -> {
+            for (int i = 0; i < iterationCount; i++) {
+                cache.compute("counter", (key, value) -> ((value == null) ? 1 : (value + 1)));
+                cache.computeIfPresent("counter", (key, value) -> (value + 1));
+            }
+        });
+
+        assertEquals(Integer.valueOf(THREAD_COUNT * iterationCount * 2), cache.get("counter"));
+    }
+
+    @Test
+    public void getOrCompute_returnsSingleValueUnderContention() throws Exception {
+        final int keyCount = 1_000;
+        final ConcurrentMapCache<Integer, Object> cache = new ConcurrentMapCache<>();
+        final Queue<Object[]> results = new ConcurrentLinkedQueue<>();
+
+        runConcurrently(threadIndex -> {
+            final Object[] values = new Object[keyCount];
+
+            for (int i = 0; i < keyCount; i++) {
+                values[i] = cache.getOrCompute(i, key -> new Object());
+            }
+
+            results.add(values);
+        });
+
+        assertEquals(THREAD_COUNT, results.size());
+
+        for (Object[] values : results) {
+            for (int i = 0; i < keyCount; i++) {
+                assertSame(cache.get(i), values[i]);
+            }
+        }
+
+        assertTrue(cache.clear());
+        assertFalse(cache.contains(0));
+    }
+
+    private static void runConcurrently(ThreadTask task) throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        final CountDownLatch startLatch = new CountDownLatch(1);
+        final List<Future<?>> futures = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < THREAD_COUNT; i++) {
+                final int threadIndex = i;
+
+                futures.add(executor.submit(() -> {
+                    startLatch.await();
+                    task.run(threadIndex);
+                    return null;
+                }));
+            }
+
+            startLatch.countDown();
+
+            // (rethrows the failures of the worker threads)
+            for (Future<?> future : futures) {
+                future.get(30L, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private interface ThreadTask {
+
+        void run(int threadIndex) throws Exception;
+
+    }
+
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2017 Arthur Ivanets, arthur.ivanets.work@gmail.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.example.videoplayerusingmedia3.util.cache;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+public class MappedPlaybackInfoCacheTest {
+
+    private static final int CAPACITY = 4;
+
+    @Test
+    public void writtenRecord_passesValidation() {
+        final ByteBuffer buffer = createBuffer();
+        final int offset = MappedPlaybackInfoCache.getRecordOffset(CAPACITY - 1);
+
+        writeRecord(buffer, offset);
+
+        assertTrue(MappedPlaybackInfoCache.isRecordValid(buffer, offset));
+    }
+
+    @Test
+    public void corruptedRecord_failsValidation() {
+        final ByteBuffer buffer = createBuffer();
+        final int offset = MappedPlaybackInfoCache.getRecordOffset(1);
+
+        // every byte covered by the checksum (as well as the checksum itself) must be guarded by it
+        for (int i = 0; i < (MappedPlaybackInfoCache.RECORD_OFFSET_CHECKSUM + 4); i++) {
+            if ((i > MappedPlaybackInfoCache.RECORD_OFFSET_FLAGS) && (i < MappedPlaybackInfoCache.RECORD_OFFSET_CHECKSUM)) {
+                continue;
+            }
+
+            writeRecord(buffer, offset);
+            buffer.put((offset + i), (byte) (buffer.get(offset + i) ^ 0x10));
+
+            assertFalse(("Byte " + i + " is not guarded."), MappedPlaybackInfoCache.isRecordValid(buffer, offset));
+        }
+    }
+
+    @Test
+    public void emptyAndRemovedRecords_failValidation() {
+        final ByteBuffer buffer = createBuffer();
+        final int offset = MappedPlaybackInfoCache.getRecordOffset(0);
+
+        assertFalse(MappedPlaybackInfoCache.isRecordValid(buffer, offset));
+
+        MappedPlaybackInfoCache.writeRecord(buffer, offset, 42L, 1_000L, 2_000L, 1f, (byte) 0);
+
+        assertFalse(MappedPlaybackInfoCache.isRecordValid(buffer, offset));
+    }
+
+    @Test
+    public void writtenHeader_isCompatibleAndValid() {
+        final ByteBuffer buffer = createBuffer();
+
+        MappedPlaybackInfoCache.writeHeader(buffer, CAPACITY, (CAPACITY - 1));
+
+        assertTrue(MappedPlaybackInfoCache.isHeaderCompatible(buffer, CAPACITY));
+        assertTrue(MappedPlaybackInfoCache.isHeaderValid(buffer, CAPACITY));
+    }
+
+    @Test
+    public void header_isIncompatibleWithDifferentCapacityOrVersion() {
+        final ByteBuffer buffer = createBuffer();
+
+        assertFalse(MappedPlaybackInfoCache.isHeaderCompatible(buffer, CAPACITY));
+
+        MappedPlaybackInfoCache.writeHeader(buffer, CAPACITY, 0);
+
+        assertFalse(MappedPlaybackInfoCache.isHeaderCompatible(buffer, (CAPACITY + 1)));
+
+        buffer.putInt(MappedPlaybackInfoCache.HEADER_OFFSET_VERSION, (MappedPlaybackInfoCache.VERSION + 1));
+
+        assertFalse(MappedPlaybackInfoCache.isHeaderCompatible(buffer, CAPACITY));
+    }
+
+    @Test
+    public void header_isInvalidWithCorruptedOrOutOfRangeCursor() {
+        final ByteBuffer buffer = createBuffer();
+
+        MappedPlaybackInfoCache.writeHeader(buffer, CAPACITY, 1);
+        buffer.putInt(MappedPlaybackInfoCache.HEADER_OFFSET_CURSOR, 2);
+
+        // (the corrupted cursor doesn't make the file incompatible, it only gets reset)
+        assertTrue(MappedPlaybackInfoCache.isHeaderCompatible(buffer, CAPACITY));
+        assertFalse(MappedPlaybackInfoCache.isHeaderValid(buffer, CAPACITY));
+
+        MappedPlaybackInfoCache.writeHeader(buffer, CAPACITY, CAPACITY);
+
+        assertFalse(MappedPlaybackInfoCache.isHeaderValid(buffer, CAPACITY));
+    }
+
+    private static ByteBuffer createBuffer() {
+        return ByteBuffer.allocate(MappedPlaybackInfoCache.HEADER_SIZE + (CAPACITY * MappedPlaybackInfoCache.RECORD_SIZE));
+    }
+
+    private static void writeRecord(ByteBuffer buffer, int offset) {
+        MappedPlaybackInfoCache.writeRecord(
+            buffer,
+            offset,
+            0x0123456789ABCDEFL,
+            12_345L,
+            60_000L,
+            0.5f,
+            (byte) (MappedPlaybackInfoCache.FLAG_VALID | MappedPlaybackInfoCache.FLAG_MUTED)
+        );
+    }
+
+}
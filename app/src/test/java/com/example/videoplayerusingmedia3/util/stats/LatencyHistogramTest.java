@@ -0,0 +1,121 @@
+/*
+ * Copyright 2017 Arthur Ivanets, arthur.ivanets.work@gmail.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.example.videoplayerusingmedia3.util.stats;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void record_placesSubMicrosecondLatenciesIntoFirstBucket() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+
+        histogram.record(0L);
+        histogram.record(999L);
+        histogram.record(-1L);
+
+        assertEquals(3L, histogram.snapshot().getBucketCount(0));
+    }
+
+    @Test
+    public void record_placesLatenciesIntoPowerOfTwoBuckets() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+
+        histogram.record(micros(1L));
+        histogram.record(micros(2L));
+        histogram.record(micros(3L));
+        histogram.record(micros(4L));
+        histogram.record(micros(1023L));
+        histogram.record(micros(1024L));
+
+        final LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+        assertEquals(1L, snapshot.getBucketCount(1));
+        assertEquals(2L, snapshot.getBucketCount(2));
+        assertEquals(1L, snapshot.getBucketCount(3));
+        assertEquals(1L, snapshot.getBucketCount(10));
+        assertEquals(1L, snapshot.getBucketCount(11));
+        assertEquals(6L, snapshot.getCount());
+    }
+
+    @Test
+    public void record_placesLatenciesFromHalfASecondIntoLastBucket() {
+        final int lastBucketIndex = (LatencyHistogram.BUCKET_COUNT - 1);
+        final LatencyHistogram histogram = new LatencyHistogram();
+
+        histogram.record(micros((1L << (lastBucketIndex - 1)) - 1L));
+        histogram.record(micros(1L << (lastBucketIndex - 1)));
+        histogram.record(TimeUnit.SECONDS.toNanos(10L));
+
+        final LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+        assertEquals(524_288L, (1L << (lastBucketIndex - 1)));
+        assertEquals(1L, snapshot.getBucketCount(lastBucketIndex - 1));
+        assertEquals(2L, snapshot.getBucketCount(lastBucketIndex));
+    }
+
+    @Test
+    public void snapshot_computesMeanMaxAndPercentiles() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+
+        for (int i = 0; i < 9; i++) {
+            histogram.record(micros(100L));
+        }
+
+        histogram.record(micros(5_000L));
+
+        final LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+        assertEquals(micros(590L), snapshot.getMeanNanos());
+        assertEquals(micros(5_000L), snapshot.getMaxNanos());
+        assertEquals(128L, snapshot.getPercentileMicros(0.5));
+        assertEquals(128L, snapshot.getPercentileMicros(0.9));
+        assertEquals(8192L, snapshot.getPercentileMicros(0.99));
+    }
+
+    @Test
+    public void snapshot_reportsMaxLatencyForLastBucketPercentile() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+
+        histogram.record(TimeUnit.SECONDS.toNanos(3L));
+
+        assertEquals(TimeUnit.SECONDS.toMicros(3L), histogram.snapshot().getPercentileMicros(1.0));
+    }
+
+    @Test
+    public void reset_clearsRecordedLatencies() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+
+        histogram.record(micros(100L));
+        histogram.reset();
+
+        final LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+        assertEquals(0L, snapshot.getCount());
+        assertEquals(0L, snapshot.getMaxNanos());
+        assertEquals(0L, snapshot.getPercentileMicros(0.5));
+    }
+
+    private static long micros(long micros) {
+        return TimeUnit.MICROSECONDS.toNanos(micros);
+    }
+
+}